@@ -7991,6 +7991,21 @@ public final class Types {
      */
     com.zhigui.crossmesh.proto.Types.BranchTransactionOrBuilder getBranchConfirmTxsOrBuilder(
         int index);
+
+    /**
+     * <code>.google.protobuf.Timestamp ttl_time = 6;</code>
+     * @return Whether the ttlTime field is set.
+     */
+    boolean hasTtlTime();
+    /**
+     * <code>.google.protobuf.Timestamp ttl_time = 6;</code>
+     * @return The ttlTime.
+     */
+    com.google.protobuf.Timestamp getTtlTime();
+    /**
+     * <code>.google.protobuf.Timestamp ttl_time = 6;</code>
+     */
+    com.google.protobuf.TimestampOrBuilder getTtlTimeOrBuilder();
   }
   /**
    * Protobuf type {@code pb.PrimaryTransactionPreparedEvent}
@@ -8097,6 +8112,19 @@ public final class Types {
                   input.readMessage(com.zhigui.crossmesh.proto.Types.BranchTransaction.parser(), extensionRegistry));
               break;
             }
+            case 50: {
+              com.google.protobuf.Timestamp.Builder subBuilder = null;
+              if (ttlTime_ != null) {
+                subBuilder = ttlTime_.toBuilder();
+              }
+              ttlTime_ = input.readMessage(com.google.protobuf.Timestamp.parser(), extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(ttlTime_);
+                ttlTime_ = subBuilder.buildPartial();
+              }
+
+              break;
+            }
             default: {
               if (!parseUnknownField(
                   input, unknownFields, extensionRegistry, tag)) {
@@ -8274,6 +8302,29 @@ public final class Types {
       return branchConfirmTxs_.get(index);
     }
 
+    public static final int TTL_TIME_FIELD_NUMBER = 6;
+    private com.google.protobuf.Timestamp ttlTime_;
+    /**
+     * <code>.google.protobuf.Timestamp ttl_time = 6;</code>
+     * @return Whether the ttlTime field is set.
+     */
+    public boolean hasTtlTime() {
+      return ttlTime_ != null;
+    }
+    /**
+     * <code>.google.protobuf.Timestamp ttl_time = 6;</code>
+     * @return The ttlTime.
+     */
+    public com.google.protobuf.Timestamp getTtlTime() {
+      return ttlTime_ == null ? com.google.protobuf.Timestamp.getDefaultInstance() : ttlTime_;
+    }
+    /**
+     * <code>.google.protobuf.Timestamp ttl_time = 6;</code>
+     */
+    public com.google.protobuf.TimestampOrBuilder getTtlTimeOrBuilder() {
+      return getTtlTime();
+    }
+
     private byte memoizedIsInitialized = -1;
     @java.lang.Override
     public final boolean isInitialized() {
@@ -8303,6 +8354,9 @@ public final class Types {
       for (int i = 0; i < branchConfirmTxs_.size(); i++) {
         output.writeMessage(5, branchConfirmTxs_.get(i));
       }
+      if (ttlTime_ != null) {
+        output.writeMessage(6, getTtlTime());
+      }
       unknownFields.writeTo(output);
     }
 
@@ -8332,6 +8386,10 @@ public final class Types {
         size += com.google.protobuf.CodedOutputStream
           .computeMessageSize(5, branchConfirmTxs_.get(i));
       }
+      if (ttlTime_ != null) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(6, getTtlTime());
+      }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
       return size;
@@ -8366,6 +8424,11 @@ public final class Types {
           .equals(other.getBranchPrepareTxsList())) return false;
       if (!getBranchConfirmTxsList()
           .equals(other.getBranchConfirmTxsList())) return false;
+      if (hasTtlTime() != other.hasTtlTime()) return false;
+      if (hasTtlTime()) {
+        if (!getTtlTime()
+            .equals(other.getTtlTime())) return false;
+      }
       if (!unknownFields.equals(other.unknownFields)) return false;
       return true;
     }
@@ -8397,6 +8460,10 @@ public final class Types {
         hash = (37 * hash) + BRANCH_CONFIRM_TXS_FIELD_NUMBER;
         hash = (53 * hash) + getBranchConfirmTxsList().hashCode();
       }
+      if (hasTtlTime()) {
+        hash = (37 * hash) + TTL_TIME_FIELD_NUMBER;
+        hash = (53 * hash) + getTtlTime().hashCode();
+      }
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -8562,6 +8629,12 @@ public final class Types {
         } else {
           branchConfirmTxsBuilder_.clear();
         }
+        if (ttlTimeBuilder_ == null) {
+          ttlTime_ = null;
+        } else {
+          ttlTime_ = null;
+          ttlTimeBuilder_ = null;
+        }
         return this;
       }
 
@@ -8622,6 +8695,11 @@ public final class Types {
         } else {
           result.branchConfirmTxs_ = branchConfirmTxsBuilder_.build();
         }
+        if (ttlTimeBuilder_ == null) {
+          result.ttlTime_ = ttlTime_;
+        } else {
+          result.ttlTime_ = ttlTimeBuilder_.build();
+        }
         onBuilt();
         return result;
       }
@@ -8731,6 +8809,9 @@ public final class Types {
             }
           }
         }
+        if (other.hasTtlTime()) {
+          mergeTtlTime(other.getTtlTime());
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
@@ -9597,6 +9678,125 @@ public final class Types {
         }
         return branchConfirmTxsBuilder_;
       }
+
+      private com.google.protobuf.Timestamp ttlTime_;
+      private com.google.protobuf.SingleFieldBuilderV3<
+          com.google.protobuf.Timestamp, com.google.protobuf.Timestamp.Builder, com.google.protobuf.TimestampOrBuilder> ttlTimeBuilder_;
+      /**
+       * <code>.google.protobuf.Timestamp ttl_time = 6;</code>
+       * @return Whether the ttlTime field is set.
+       */
+      public boolean hasTtlTime() {
+        return ttlTimeBuilder_ != null || ttlTime_ != null;
+      }
+      /**
+       * <code>.google.protobuf.Timestamp ttl_time = 6;</code>
+       * @return The ttlTime.
+       */
+      public com.google.protobuf.Timestamp getTtlTime() {
+        if (ttlTimeBuilder_ == null) {
+          return ttlTime_ == null ? com.google.protobuf.Timestamp.getDefaultInstance() : ttlTime_;
+        } else {
+          return ttlTimeBuilder_.getMessage();
+        }
+      }
+      /**
+       * <code>.google.protobuf.Timestamp ttl_time = 6;</code>
+       */
+      public Builder setTtlTime(com.google.protobuf.Timestamp value) {
+        if (ttlTimeBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ttlTime_ = value;
+          onChanged();
+        } else {
+          ttlTimeBuilder_.setMessage(value);
+        }
+
+        return this;
+      }
+      /**
+       * <code>.google.protobuf.Timestamp ttl_time = 6;</code>
+       */
+      public Builder setTtlTime(
+          com.google.protobuf.Timestamp.Builder builderForValue) {
+        if (ttlTimeBuilder_ == null) {
+          ttlTime_ = builderForValue.build();
+          onChanged();
+        } else {
+          ttlTimeBuilder_.setMessage(builderForValue.build());
+        }
+
+        return this;
+      }
+      /**
+       * <code>.google.protobuf.Timestamp ttl_time = 6;</code>
+       */
+      public Builder mergeTtlTime(com.google.protobuf.Timestamp value) {
+        if (ttlTimeBuilder_ == null) {
+          if (ttlTime_ != null) {
+            ttlTime_ =
+              com.google.protobuf.Timestamp.newBuilder(ttlTime_).mergeFrom(value).buildPartial();
+          } else {
+            ttlTime_ = value;
+          }
+          onChanged();
+        } else {
+          ttlTimeBuilder_.mergeFrom(value);
+        }
+
+        return this;
+      }
+      /**
+       * <code>.google.protobuf.Timestamp ttl_time = 6;</code>
+       */
+      public Builder clearTtlTime() {
+        if (ttlTimeBuilder_ == null) {
+          ttlTime_ = null;
+          onChanged();
+        } else {
+          ttlTime_ = null;
+          ttlTimeBuilder_ = null;
+        }
+
+        return this;
+      }
+      /**
+       * <code>.google.protobuf.Timestamp ttl_time = 6;</code>
+       */
+      public com.google.protobuf.Timestamp.Builder getTtlTimeBuilder() {
+        
+        onChanged();
+        return getTtlTimeFieldBuilder().getBuilder();
+      }
+      /**
+       * <code>.google.protobuf.Timestamp ttl_time = 6;</code>
+       */
+      public com.google.protobuf.TimestampOrBuilder getTtlTimeOrBuilder() {
+        if (ttlTimeBuilder_ != null) {
+          return ttlTimeBuilder_.getMessageOrBuilder();
+        } else {
+          return ttlTime_ == null ?
+              com.google.protobuf.Timestamp.getDefaultInstance() : ttlTime_;
+        }
+      }
+      /**
+       * <code>.google.protobuf.Timestamp ttl_time = 6;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilderV3<
+          com.google.protobuf.Timestamp, com.google.protobuf.Timestamp.Builder, com.google.protobuf.TimestampOrBuilder> 
+          getTtlTimeFieldBuilder() {
+        if (ttlTimeBuilder_ == null) {
+          ttlTimeBuilder_ = new com.google.protobuf.SingleFieldBuilderV3<
+              com.google.protobuf.Timestamp, com.google.protobuf.Timestamp.Builder, com.google.protobuf.TimestampOrBuilder>(
+                  getTtlTime(),
+                  getParentForChildren(),
+                  isClean());
+          ttlTime_ = null;
+        }
+        return ttlTimeBuilder_;
+      }
       @java.lang.Override
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
@@ -9692,6 +9892,32 @@ public final class Types {
      */
     com.zhigui.crossmesh.proto.Types.BranchTransactionOrBuilder getBranchConfirmTxsOrBuilder(
         int index);
+
+    /**
+     * <code>.pb.TransactionID primary_prepare_tx_id = 3;</code>
+     * @return Whether the primaryPrepareTxId field is set.
+     */
+    boolean hasPrimaryPrepareTxId();
+    /**
+     * <code>.pb.TransactionID primary_prepare_tx_id = 3;</code>
+     * @return The primaryPrepareTxId.
+     */
+    com.zhigui.crossmesh.proto.Types.TransactionID getPrimaryPrepareTxId();
+    /**
+     * <code>.pb.TransactionID primary_prepare_tx_id = 3;</code>
+     */
+    com.zhigui.crossmesh.proto.Types.TransactionIDOrBuilder getPrimaryPrepareTxIdOrBuilder();
+
+    /**
+     * <code>.pb.GlobalTransactionStatusType status = 4;</code>
+     * @return The enum numeric value on the wire for status.
+     */
+    int getStatusValue();
+    /**
+     * <code>.pb.GlobalTransactionStatusType status = 4;</code>
+     * @return The status.
+     */
+    com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusType getStatus();
   }
   /**
    * Protobuf type {@code pb.PrimaryTransactionConfirmedEvent}
@@ -9707,6 +9933,7 @@ public final class Types {
     }
     private PrimaryTransactionConfirmedEvent() {
       branchConfirmTxs_ = java.util.Collections.emptyList();
+      status_ = 0;
     }
 
     @java.lang.Override
@@ -9762,6 +9989,25 @@ public final class Types {
                   input.readMessage(com.zhigui.crossmesh.proto.Types.BranchTransaction.parser(), extensionRegistry));
               break;
             }
+            case 26: {
+              com.zhigui.crossmesh.proto.Types.TransactionID.Builder subBuilder = null;
+              if (primaryPrepareTxId_ != null) {
+                subBuilder = primaryPrepareTxId_.toBuilder();
+              }
+              primaryPrepareTxId_ = input.readMessage(com.zhigui.crossmesh.proto.Types.TransactionID.parser(), extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(primaryPrepareTxId_);
+                primaryPrepareTxId_ = subBuilder.buildPartial();
+              }
+
+              break;
+            }
+            case 32: {
+              int rawValue = input.readEnum();
+
+              status_ = rawValue;
+              break;
+            }
             default: {
               if (!parseUnknownField(
                   input, unknownFields, extensionRegistry, tag)) {
@@ -9855,17 +10101,59 @@ public final class Types {
       return branchConfirmTxs_.get(index);
     }
 
-    private byte memoizedIsInitialized = -1;
-    @java.lang.Override
-    public final boolean isInitialized() {
-      byte isInitialized = memoizedIsInitialized;
-      if (isInitialized == 1) return true;
-      if (isInitialized == 0) return false;
-
-      memoizedIsInitialized = 1;
-      return true;
+    public static final int PRIMARY_PREPARE_TX_ID_FIELD_NUMBER = 3;
+    private com.zhigui.crossmesh.proto.Types.TransactionID primaryPrepareTxId_;
+    /**
+     * <code>.pb.TransactionID primary_prepare_tx_id = 3;</code>
+     * @return Whether the primaryPrepareTxId field is set.
+     */
+    public boolean hasPrimaryPrepareTxId() {
+      return primaryPrepareTxId_ != null;
     }
-
+    /**
+     * <code>.pb.TransactionID primary_prepare_tx_id = 3;</code>
+     * @return The primaryPrepareTxId.
+     */
+    public com.zhigui.crossmesh.proto.Types.TransactionID getPrimaryPrepareTxId() {
+      return primaryPrepareTxId_ == null ? com.zhigui.crossmesh.proto.Types.TransactionID.getDefaultInstance() : primaryPrepareTxId_;
+    }
+    /**
+     * <code>.pb.TransactionID primary_prepare_tx_id = 3;</code>
+     */
+    public com.zhigui.crossmesh.proto.Types.TransactionIDOrBuilder getPrimaryPrepareTxIdOrBuilder() {
+      return getPrimaryPrepareTxId();
+    }
+
+    public static final int STATUS_FIELD_NUMBER = 4;
+    private int status_;
+    /**
+     * <code>.pb.GlobalTransactionStatusType status = 4;</code>
+     * @return The enum numeric value on the wire for status.
+     */
+    public int getStatusValue() {
+      return status_;
+    }
+    /**
+     * <code>.pb.GlobalTransactionStatusType status = 4;</code>
+     * @return The status.
+     */
+    public com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusType getStatus() {
+      @SuppressWarnings("deprecation")
+      com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusType result = com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusType.valueOf(status_);
+      return result == null ? com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusType.UNRECOGNIZED : result;
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
     @java.lang.Override
     public void writeTo(com.google.protobuf.CodedOutputStream output)
                         throws java.io.IOException {
@@ -9875,6 +10163,12 @@ public final class Types {
       for (int i = 0; i < branchConfirmTxs_.size(); i++) {
         output.writeMessage(2, branchConfirmTxs_.get(i));
       }
+      if (primaryPrepareTxId_ != null) {
+        output.writeMessage(3, getPrimaryPrepareTxId());
+      }
+      if (status_ != com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusType.PRIMARY_TRANSACTION_PREPARED.getNumber()) {
+        output.writeEnum(4, status_);
+      }
       unknownFields.writeTo(output);
     }
 
@@ -9892,6 +10186,14 @@ public final class Types {
         size += com.google.protobuf.CodedOutputStream
           .computeMessageSize(2, branchConfirmTxs_.get(i));
       }
+      if (primaryPrepareTxId_ != null) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(3, getPrimaryPrepareTxId());
+      }
+      if (status_ != com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusType.PRIMARY_TRANSACTION_PREPARED.getNumber()) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeEnumSize(4, status_);
+      }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
       return size;
@@ -9914,6 +10216,12 @@ public final class Types {
       }
       if (!getBranchConfirmTxsList()
           .equals(other.getBranchConfirmTxsList())) return false;
+      if (hasPrimaryPrepareTxId() != other.hasPrimaryPrepareTxId()) return false;
+      if (hasPrimaryPrepareTxId()) {
+        if (!getPrimaryPrepareTxId()
+            .equals(other.getPrimaryPrepareTxId())) return false;
+      }
+      if (status_ != other.status_) return false;
       if (!unknownFields.equals(other.unknownFields)) return false;
       return true;
     }
@@ -9933,6 +10241,12 @@ public final class Types {
         hash = (37 * hash) + BRANCH_CONFIRM_TXS_FIELD_NUMBER;
         hash = (53 * hash) + getBranchConfirmTxsList().hashCode();
       }
+      if (hasPrimaryPrepareTxId()) {
+        hash = (37 * hash) + PRIMARY_PREPARE_TX_ID_FIELD_NUMBER;
+        hash = (53 * hash) + getPrimaryPrepareTxId().hashCode();
+      }
+      hash = (37 * hash) + STATUS_FIELD_NUMBER;
+      hash = (53 * hash) + status_;
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -10079,6 +10393,14 @@ public final class Types {
         } else {
           branchConfirmTxsBuilder_.clear();
         }
+        if (primaryPrepareTxIdBuilder_ == null) {
+          primaryPrepareTxId_ = null;
+        } else {
+          primaryPrepareTxId_ = null;
+          primaryPrepareTxIdBuilder_ = null;
+        }
+        status_ = 0;
+
         return this;
       }
 
@@ -10120,6 +10442,12 @@ public final class Types {
         } else {
           result.branchConfirmTxs_ = branchConfirmTxsBuilder_.build();
         }
+        if (primaryPrepareTxIdBuilder_ == null) {
+          result.primaryPrepareTxId_ = primaryPrepareTxId_;
+        } else {
+          result.primaryPrepareTxId_ = primaryPrepareTxIdBuilder_.build();
+        }
+        result.status_ = status_;
         onBuilt();
         return result;
       }
@@ -10197,6 +10525,12 @@ public final class Types {
             }
           }
         }
+        if (other.hasPrimaryPrepareTxId()) {
+          mergePrimaryPrepareTxId(other.getPrimaryPrepareTxId());
+        }
+        if (other.status_ != 0) {
+          setStatusValue(other.getStatusValue());
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
@@ -10585,6 +10919,177 @@ public final class Types {
         }
         return branchConfirmTxsBuilder_;
       }
+
+      private com.zhigui.crossmesh.proto.Types.TransactionID primaryPrepareTxId_;
+      private com.google.protobuf.SingleFieldBuilderV3<
+          com.zhigui.crossmesh.proto.Types.TransactionID, com.zhigui.crossmesh.proto.Types.TransactionID.Builder, com.zhigui.crossmesh.proto.Types.TransactionIDOrBuilder> primaryPrepareTxIdBuilder_;
+      /**
+       * <code>.pb.TransactionID primary_prepare_tx_id = 3;</code>
+       * @return Whether the primaryPrepareTxId field is set.
+       */
+      public boolean hasPrimaryPrepareTxId() {
+        return primaryPrepareTxIdBuilder_ != null || primaryPrepareTxId_ != null;
+      }
+      /**
+       * <code>.pb.TransactionID primary_prepare_tx_id = 3;</code>
+       * @return The primaryPrepareTxId.
+       */
+      public com.zhigui.crossmesh.proto.Types.TransactionID getPrimaryPrepareTxId() {
+        if (primaryPrepareTxIdBuilder_ == null) {
+          return primaryPrepareTxId_ == null ? com.zhigui.crossmesh.proto.Types.TransactionID.getDefaultInstance() : primaryPrepareTxId_;
+        } else {
+          return primaryPrepareTxIdBuilder_.getMessage();
+        }
+      }
+      /**
+       * <code>.pb.TransactionID primary_prepare_tx_id = 3;</code>
+       */
+      public Builder setPrimaryPrepareTxId(com.zhigui.crossmesh.proto.Types.TransactionID value) {
+        if (primaryPrepareTxIdBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          primaryPrepareTxId_ = value;
+          onChanged();
+        } else {
+          primaryPrepareTxIdBuilder_.setMessage(value);
+        }
+
+        return this;
+      }
+      /**
+       * <code>.pb.TransactionID primary_prepare_tx_id = 3;</code>
+       */
+      public Builder setPrimaryPrepareTxId(
+          com.zhigui.crossmesh.proto.Types.TransactionID.Builder builderForValue) {
+        if (primaryPrepareTxIdBuilder_ == null) {
+          primaryPrepareTxId_ = builderForValue.build();
+          onChanged();
+        } else {
+          primaryPrepareTxIdBuilder_.setMessage(builderForValue.build());
+        }
+
+        return this;
+      }
+      /**
+       * <code>.pb.TransactionID primary_prepare_tx_id = 3;</code>
+       */
+      public Builder mergePrimaryPrepareTxId(com.zhigui.crossmesh.proto.Types.TransactionID value) {
+        if (primaryPrepareTxIdBuilder_ == null) {
+          if (primaryPrepareTxId_ != null) {
+            primaryPrepareTxId_ =
+              com.zhigui.crossmesh.proto.Types.TransactionID.newBuilder(primaryPrepareTxId_).mergeFrom(value).buildPartial();
+          } else {
+            primaryPrepareTxId_ = value;
+          }
+          onChanged();
+        } else {
+          primaryPrepareTxIdBuilder_.mergeFrom(value);
+        }
+
+        return this;
+      }
+      /**
+       * <code>.pb.TransactionID primary_prepare_tx_id = 3;</code>
+       */
+      public Builder clearPrimaryPrepareTxId() {
+        if (primaryPrepareTxIdBuilder_ == null) {
+          primaryPrepareTxId_ = null;
+          onChanged();
+        } else {
+          primaryPrepareTxId_ = null;
+          primaryPrepareTxIdBuilder_ = null;
+        }
+
+        return this;
+      }
+      /**
+       * <code>.pb.TransactionID primary_prepare_tx_id = 3;</code>
+       */
+      public com.zhigui.crossmesh.proto.Types.TransactionID.Builder getPrimaryPrepareTxIdBuilder() {
+        
+        onChanged();
+        return getPrimaryPrepareTxIdFieldBuilder().getBuilder();
+      }
+      /**
+       * <code>.pb.TransactionID primary_prepare_tx_id = 3;</code>
+       */
+      public com.zhigui.crossmesh.proto.Types.TransactionIDOrBuilder getPrimaryPrepareTxIdOrBuilder() {
+        if (primaryPrepareTxIdBuilder_ != null) {
+          return primaryPrepareTxIdBuilder_.getMessageOrBuilder();
+        } else {
+          return primaryPrepareTxId_ == null ?
+              com.zhigui.crossmesh.proto.Types.TransactionID.getDefaultInstance() : primaryPrepareTxId_;
+        }
+      }
+      /**
+       * <code>.pb.TransactionID primary_prepare_tx_id = 3;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilderV3<
+          com.zhigui.crossmesh.proto.Types.TransactionID, com.zhigui.crossmesh.proto.Types.TransactionID.Builder, com.zhigui.crossmesh.proto.Types.TransactionIDOrBuilder> 
+          getPrimaryPrepareTxIdFieldBuilder() {
+        if (primaryPrepareTxIdBuilder_ == null) {
+          primaryPrepareTxIdBuilder_ = new com.google.protobuf.SingleFieldBuilderV3<
+              com.zhigui.crossmesh.proto.Types.TransactionID, com.zhigui.crossmesh.proto.Types.TransactionID.Builder, com.zhigui.crossmesh.proto.Types.TransactionIDOrBuilder>(
+                  getPrimaryPrepareTxId(),
+                  getParentForChildren(),
+                  isClean());
+          primaryPrepareTxId_ = null;
+        }
+        return primaryPrepareTxIdBuilder_;
+      }
+
+      private int status_ = 0;
+      /**
+       * <code>.pb.GlobalTransactionStatusType status = 4;</code>
+       * @return The enum numeric value on the wire for status.
+       */
+      public int getStatusValue() {
+        return status_;
+      }
+      /**
+       * <code>.pb.GlobalTransactionStatusType status = 4;</code>
+       * @param value The enum numeric value on the wire for status to set.
+       * @return This builder for chaining.
+       */
+      public Builder setStatusValue(int value) {
+        status_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>.pb.GlobalTransactionStatusType status = 4;</code>
+       * @return The status.
+       */
+      public com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusType getStatus() {
+        @SuppressWarnings("deprecation")
+        com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusType result = com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusType.valueOf(status_);
+        return result == null ? com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusType.UNRECOGNIZED : result;
+      }
+      /**
+       * <code>.pb.GlobalTransactionStatusType status = 4;</code>
+       * @param value The status to set.
+       * @return This builder for chaining.
+       */
+      public Builder setStatus(com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusType value) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        
+        status_ = value.getNumber();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>.pb.GlobalTransactionStatusType status = 4;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearStatus() {
+        
+        status_ = 0;
+        onChanged();
+        return this;
+      }
       @java.lang.Override
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
@@ -12579,34 +13084,2360 @@ public final class Types {
 
   }
 
-  public interface VerifyInfoOrBuilder extends
-      // @@protoc_insertion_point(interface_extends:pb.VerifyInfo)
+  public interface GlobalTransactionStatusListOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:pb.GlobalTransactionStatusList)
       com.google.protobuf.MessageOrBuilder {
 
     /**
-     * <code>string Contract = 1;</code>
-     * @return The contract.
+     * <code>repeated .pb.GlobalTransactionStatus statuses = 1;</code>
      */
-    java.lang.String getContract();
+    java.util.List<com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus> 
+        getStatusesList();
     /**
-     * <code>string Contract = 1;</code>
-     * @return The bytes for contract.
+     * <code>repeated .pb.GlobalTransactionStatus statuses = 1;</code>
      */
-    com.google.protobuf.ByteString
-        getContractBytes();
-
+    com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus getStatuses(int index);
     /**
-     * <code>string function = 2;</code>
-     * @return The function.
+     * <code>repeated .pb.GlobalTransactionStatus statuses = 1;</code>
      */
-    java.lang.String getFunction();
+    int getStatusesCount();
     /**
-     * <code>string function = 2;</code>
-     * @return The bytes for function.
+     * <code>repeated .pb.GlobalTransactionStatus statuses = 1;</code>
      */
-    com.google.protobuf.ByteString
-        getFunctionBytes();
-  }
+    java.util.List<? extends com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusOrBuilder> 
+        getStatusesOrBuilderList();
+    /**
+     * <code>repeated .pb.GlobalTransactionStatus statuses = 1;</code>
+     */
+    com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusOrBuilder getStatusesOrBuilder(
+        int index);
+  }
+  /**
+   * Protobuf type {@code pb.GlobalTransactionStatusList}
+   */
+  public  static final class GlobalTransactionStatusList extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:pb.GlobalTransactionStatusList)
+      GlobalTransactionStatusListOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use GlobalTransactionStatusList.newBuilder() to construct.
+    private GlobalTransactionStatusList(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private GlobalTransactionStatusList() {
+      statuses_ = java.util.Collections.emptyList();
+    }
+
+    @java.lang.Override
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new GlobalTransactionStatusList();
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    private GlobalTransactionStatusList(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      if (extensionRegistry == null) {
+        throw new java.lang.NullPointerException();
+      }
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            case 10: {
+              if (!((mutable_bitField0_ & 0x00000001) != 0)) {
+                statuses_ = new java.util.ArrayList<com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus>();
+                mutable_bitField0_ |= 0x00000001;
+              }
+              statuses_.add(
+                  input.readMessage(com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus.parser(), extensionRegistry));
+              break;
+            }
+            default: {
+              if (!parseUnknownField(
+                  input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        if (((mutable_bitField0_ & 0x00000001) != 0)) {
+          statuses_ = java.util.Collections.unmodifiableList(statuses_);
+        }
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.zhigui.crossmesh.proto.Types.internal_static_pb_GlobalTransactionStatusList_descriptor;
+    }
+
+    @java.lang.Override
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.zhigui.crossmesh.proto.Types.internal_static_pb_GlobalTransactionStatusList_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList.class, com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList.Builder.class);
+    }
+
+    public static final int STATUSES_FIELD_NUMBER = 1;
+    private java.util.List<com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus> statuses_;
+    /**
+     * <code>repeated .pb.GlobalTransactionStatus statuses = 1;</code>
+     */
+    public java.util.List<com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus> getStatusesList() {
+      return statuses_;
+    }
+    /**
+     * <code>repeated .pb.GlobalTransactionStatus statuses = 1;</code>
+     */
+    public java.util.List<? extends com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusOrBuilder> 
+        getStatusesOrBuilderList() {
+      return statuses_;
+    }
+    /**
+     * <code>repeated .pb.GlobalTransactionStatus statuses = 1;</code>
+     */
+    public int getStatusesCount() {
+      return statuses_.size();
+    }
+    /**
+     * <code>repeated .pb.GlobalTransactionStatus statuses = 1;</code>
+     */
+    public com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus getStatuses(int index) {
+      return statuses_.get(index);
+    }
+    /**
+     * <code>repeated .pb.GlobalTransactionStatus statuses = 1;</code>
+     */
+    public com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusOrBuilder getStatusesOrBuilder(
+        int index) {
+      return statuses_.get(index);
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      for (int i = 0; i < statuses_.size(); i++) {
+        output.writeMessage(1, statuses_.get(i));
+      }
+      unknownFields.writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      for (int i = 0; i < statuses_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(1, statuses_.get(i));
+      }
+      size += unknownFields.getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList)) {
+        return super.equals(obj);
+      }
+      com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList other = (com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList) obj;
+
+      if (!getStatusesList()
+          .equals(other.getStatusesList())) return false;
+      if (!unknownFields.equals(other.unknownFields)) return false;
+      return true;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      if (getStatusesCount() > 0) {
+        hash = (37 * hash) + STATUSES_FIELD_NUMBER;
+        hash = (53 * hash) + getStatusesList().hashCode();
+      }
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code pb.GlobalTransactionStatusList}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:pb.GlobalTransactionStatusList)
+        com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusListOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.zhigui.crossmesh.proto.Types.internal_static_pb_GlobalTransactionStatusList_descriptor;
+      }
+
+      @java.lang.Override
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.zhigui.crossmesh.proto.Types.internal_static_pb_GlobalTransactionStatusList_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList.class, com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList.Builder.class);
+      }
+
+      // Construct using com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+          getStatusesFieldBuilder();
+        }
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        if (statusesBuilder_ == null) {
+          statuses_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+        } else {
+          statusesBuilder_.clear();
+        }
+        return this;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.zhigui.crossmesh.proto.Types.internal_static_pb_GlobalTransactionStatusList_descriptor;
+      }
+
+      @java.lang.Override
+      public com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList getDefaultInstanceForType() {
+        return com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList build() {
+        com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList buildPartial() {
+        com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList result = new com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList(this);
+        int from_bitField0_ = bitField0_;
+        if (statusesBuilder_ == null) {
+          if (((bitField0_ & 0x00000001) != 0)) {
+            statuses_ = java.util.Collections.unmodifiableList(statuses_);
+            bitField0_ = (bitField0_ & ~0x00000001);
+          }
+          result.statuses_ = statuses_;
+        } else {
+          result.statuses_ = statusesBuilder_.build();
+        }
+        onBuilt();
+        return result;
+      }
+
+      @java.lang.Override
+      public Builder clone() {
+        return super.clone();
+      }
+      @java.lang.Override
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return super.setField(field, value);
+      }
+      @java.lang.Override
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return super.clearField(field);
+      }
+      @java.lang.Override
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return super.clearOneof(oneof);
+      }
+      @java.lang.Override
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, java.lang.Object value) {
+        return super.setRepeatedField(field, index, value);
+      }
+      @java.lang.Override
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return super.addRepeatedField(field, value);
+      }
+      @java.lang.Override
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList) {
+          return mergeFrom((com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList other) {
+        if (other == com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList.getDefaultInstance()) return this;
+        if (statusesBuilder_ == null) {
+          if (!other.statuses_.isEmpty()) {
+            if (statuses_.isEmpty()) {
+              statuses_ = other.statuses_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+            } else {
+              ensureStatusesIsMutable();
+              statuses_.addAll(other.statuses_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.statuses_.isEmpty()) {
+            if (statusesBuilder_.isEmpty()) {
+              statusesBuilder_.dispose();
+              statusesBuilder_ = null;
+              statuses_ = other.statuses_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+              statusesBuilder_ = 
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getStatusesFieldBuilder() : null;
+            } else {
+              statusesBuilder_.addAllMessages(other.statuses_);
+            }
+          }
+        }
+        this.mergeUnknownFields(other.unknownFields);
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private java.util.List<com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus> statuses_ =
+        java.util.Collections.emptyList();
+      private void ensureStatusesIsMutable() {
+        if (!((bitField0_ & 0x00000001) != 0)) {
+          statuses_ = new java.util.ArrayList<com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus>(statuses_);
+          bitField0_ |= 0x00000001;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus, com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus.Builder, com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusOrBuilder> statusesBuilder_;
+
+      /**
+       * <code>repeated .pb.GlobalTransactionStatus statuses = 1;</code>
+       */
+      public java.util.List<com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus> getStatusesList() {
+        if (statusesBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(statuses_);
+        } else {
+          return statusesBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .pb.GlobalTransactionStatus statuses = 1;</code>
+       */
+      public int getStatusesCount() {
+        if (statusesBuilder_ == null) {
+          return statuses_.size();
+        } else {
+          return statusesBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .pb.GlobalTransactionStatus statuses = 1;</code>
+       */
+      public com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus getStatuses(int index) {
+        if (statusesBuilder_ == null) {
+          return statuses_.get(index);
+        } else {
+          return statusesBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .pb.GlobalTransactionStatus statuses = 1;</code>
+       */
+      public Builder setStatuses(
+          int index, com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus value) {
+        if (statusesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureStatusesIsMutable();
+          statuses_.set(index, value);
+          onChanged();
+        } else {
+          statusesBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .pb.GlobalTransactionStatus statuses = 1;</code>
+       */
+      public Builder setStatuses(
+          int index, com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus.Builder builderForValue) {
+        if (statusesBuilder_ == null) {
+          ensureStatusesIsMutable();
+          statuses_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          statusesBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .pb.GlobalTransactionStatus statuses = 1;</code>
+       */
+      public Builder addStatuses(com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus value) {
+        if (statusesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureStatusesIsMutable();
+          statuses_.add(value);
+          onChanged();
+        } else {
+          statusesBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .pb.GlobalTransactionStatus statuses = 1;</code>
+       */
+      public Builder addStatuses(
+          int index, com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus value) {
+        if (statusesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureStatusesIsMutable();
+          statuses_.add(index, value);
+          onChanged();
+        } else {
+          statusesBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .pb.GlobalTransactionStatus statuses = 1;</code>
+       */
+      public Builder addStatuses(
+          com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus.Builder builderForValue) {
+        if (statusesBuilder_ == null) {
+          ensureStatusesIsMutable();
+          statuses_.add(builderForValue.build());
+          onChanged();
+        } else {
+          statusesBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .pb.GlobalTransactionStatus statuses = 1;</code>
+       */
+      public Builder addStatuses(
+          int index, com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus.Builder builderForValue) {
+        if (statusesBuilder_ == null) {
+          ensureStatusesIsMutable();
+          statuses_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          statusesBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .pb.GlobalTransactionStatus statuses = 1;</code>
+       */
+      public Builder addAllStatuses(
+          java.lang.Iterable<? extends com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus> values) {
+        if (statusesBuilder_ == null) {
+          ensureStatusesIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, statuses_);
+          onChanged();
+        } else {
+          statusesBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .pb.GlobalTransactionStatus statuses = 1;</code>
+       */
+      public Builder clearStatuses() {
+        if (statusesBuilder_ == null) {
+          statuses_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+          onChanged();
+        } else {
+          statusesBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .pb.GlobalTransactionStatus statuses = 1;</code>
+       */
+      public Builder removeStatuses(int index) {
+        if (statusesBuilder_ == null) {
+          ensureStatusesIsMutable();
+          statuses_.remove(index);
+          onChanged();
+        } else {
+          statusesBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .pb.GlobalTransactionStatus statuses = 1;</code>
+       */
+      public com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus.Builder getStatusesBuilder(
+          int index) {
+        return getStatusesFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .pb.GlobalTransactionStatus statuses = 1;</code>
+       */
+      public com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusOrBuilder getStatusesOrBuilder(
+          int index) {
+        if (statusesBuilder_ == null) {
+          return statuses_.get(index);  } else {
+          return statusesBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .pb.GlobalTransactionStatus statuses = 1;</code>
+       */
+      public java.util.List<? extends com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusOrBuilder> 
+           getStatusesOrBuilderList() {
+        if (statusesBuilder_ != null) {
+          return statusesBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(statuses_);
+        }
+      }
+      /**
+       * <code>repeated .pb.GlobalTransactionStatus statuses = 1;</code>
+       */
+      public com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus.Builder addStatusesBuilder() {
+        return getStatusesFieldBuilder().addBuilder(
+            com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .pb.GlobalTransactionStatus statuses = 1;</code>
+       */
+      public com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus.Builder addStatusesBuilder(
+          int index) {
+        return getStatusesFieldBuilder().addBuilder(
+            index, com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .pb.GlobalTransactionStatus statuses = 1;</code>
+       */
+      public java.util.List<com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus.Builder> 
+           getStatusesBuilderList() {
+        return getStatusesFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus, com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus.Builder, com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusOrBuilder> 
+          getStatusesFieldBuilder() {
+        if (statusesBuilder_ == null) {
+          statusesBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
+              com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus, com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus.Builder, com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusOrBuilder>(
+                  statuses_,
+                  ((bitField0_ & 0x00000001) != 0),
+                  getParentForChildren(),
+                  isClean());
+          statuses_ = null;
+        }
+        return statusesBuilder_;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:pb.GlobalTransactionStatusList)
+    }
+
+    // @@protoc_insertion_point(class_scope:pb.GlobalTransactionStatusList)
+    private static final com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList();
+    }
+
+    public static com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<GlobalTransactionStatusList>
+        PARSER = new com.google.protobuf.AbstractParser<GlobalTransactionStatusList>() {
+      @java.lang.Override
+      public GlobalTransactionStatusList parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new GlobalTransactionStatusList(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<GlobalTransactionStatusList> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<GlobalTransactionStatusList> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface ProofOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:pb.Proof)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>uint32 version = 1;</code>
+     * @return The version.
+     */
+    int getVersion();
+
+    /**
+     * <pre>
+     * the ProposalResponsePayload signed by the endorsements
+     * </pre>
+     *
+     * <code>bytes proposal_response_payload = 2;</code>
+     * @return The proposalResponsePayload.
+     */
+    com.google.protobuf.ByteString getProposalResponsePayload();
+
+    /**
+     * <code>repeated .pb.Proof.Endorsement endorsements = 3;</code>
+     */
+    java.util.List<com.zhigui.crossmesh.proto.Types.Proof.Endorsement> 
+        getEndorsementsList();
+    /**
+     * <code>repeated .pb.Proof.Endorsement endorsements = 3;</code>
+     */
+    com.zhigui.crossmesh.proto.Types.Proof.Endorsement getEndorsements(int index);
+    /**
+     * <code>repeated .pb.Proof.Endorsement endorsements = 3;</code>
+     */
+    int getEndorsementsCount();
+    /**
+     * <code>repeated .pb.Proof.Endorsement endorsements = 3;</code>
+     */
+    java.util.List<? extends com.zhigui.crossmesh.proto.Types.Proof.EndorsementOrBuilder> 
+        getEndorsementsOrBuilderList();
+    /**
+     * <code>repeated .pb.Proof.Endorsement endorsements = 3;</code>
+     */
+    com.zhigui.crossmesh.proto.Types.Proof.EndorsementOrBuilder getEndorsementsOrBuilder(
+        int index);
+  }
+  /**
+   * <pre>
+   * Proof that a transaction was committed, passed base64 encoded in invocation args.
+   * </pre>
+   *
+   * Protobuf type {@code pb.Proof}
+   */
+  public  static final class Proof extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:pb.Proof)
+      ProofOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use Proof.newBuilder() to construct.
+    private Proof(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private Proof() {
+      proposalResponsePayload_ = com.google.protobuf.ByteString.EMPTY;
+      endorsements_ = java.util.Collections.emptyList();
+    }
+
+    @java.lang.Override
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new Proof();
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    private Proof(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      if (extensionRegistry == null) {
+        throw new java.lang.NullPointerException();
+      }
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            case 8: {
+
+              version_ = input.readUInt32();
+              break;
+            }
+            case 18: {
+
+              proposalResponsePayload_ = input.readBytes();
+              break;
+            }
+            case 26: {
+              if (!((mutable_bitField0_ & 0x00000001) != 0)) {
+                endorsements_ = new java.util.ArrayList<com.zhigui.crossmesh.proto.Types.Proof.Endorsement>();
+                mutable_bitField0_ |= 0x00000001;
+              }
+              endorsements_.add(
+                  input.readMessage(com.zhigui.crossmesh.proto.Types.Proof.Endorsement.parser(), extensionRegistry));
+              break;
+            }
+            default: {
+              if (!parseUnknownField(
+                  input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        if (((mutable_bitField0_ & 0x00000001) != 0)) {
+          endorsements_ = java.util.Collections.unmodifiableList(endorsements_);
+        }
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.zhigui.crossmesh.proto.Types.internal_static_pb_Proof_descriptor;
+    }
+
+    @java.lang.Override
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.zhigui.crossmesh.proto.Types.internal_static_pb_Proof_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              com.zhigui.crossmesh.proto.Types.Proof.class, com.zhigui.crossmesh.proto.Types.Proof.Builder.class);
+    }
+
+    public interface EndorsementOrBuilder extends
+        // @@protoc_insertion_point(interface_extends:pb.Proof.Endorsement)
+        com.google.protobuf.MessageOrBuilder {
+
+      /**
+       * <pre>
+       * serialized identity of the endorser
+       * </pre>
+       *
+       * <code>bytes endorser = 1;</code>
+       * @return The endorser.
+       */
+      com.google.protobuf.ByteString getEndorser();
+
+      /**
+       * <code>bytes signature = 2;</code>
+       * @return The signature.
+       */
+      com.google.protobuf.ByteString getSignature();
+    }
+    /**
+     * Protobuf type {@code pb.Proof.Endorsement}
+     */
+    public  static final class Endorsement extends
+        com.google.protobuf.GeneratedMessageV3 implements
+        // @@protoc_insertion_point(message_implements:pb.Proof.Endorsement)
+        EndorsementOrBuilder {
+    private static final long serialVersionUID = 0L;
+      // Use Endorsement.newBuilder() to construct.
+      private Endorsement(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+        super(builder);
+      }
+      private Endorsement() {
+        endorser_ = com.google.protobuf.ByteString.EMPTY;
+        signature_ = com.google.protobuf.ByteString.EMPTY;
+      }
+
+      @java.lang.Override
+      @SuppressWarnings({"unused"})
+      protected java.lang.Object newInstance(
+          UnusedPrivateParameter unused) {
+        return new Endorsement();
+      }
+
+      @java.lang.Override
+      public final com.google.protobuf.UnknownFieldSet
+      getUnknownFields() {
+        return this.unknownFields;
+      }
+      private Endorsement(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        this();
+        if (extensionRegistry == null) {
+          throw new java.lang.NullPointerException();
+        }
+        com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+            com.google.protobuf.UnknownFieldSet.newBuilder();
+        try {
+          boolean done = false;
+          while (!done) {
+            int tag = input.readTag();
+            switch (tag) {
+              case 0:
+                done = true;
+                break;
+              case 10: {
+
+                endorser_ = input.readBytes();
+                break;
+              }
+              case 18: {
+
+                signature_ = input.readBytes();
+                break;
+              }
+              default: {
+                if (!parseUnknownField(
+                    input, unknownFields, extensionRegistry, tag)) {
+                  done = true;
+                }
+                break;
+              }
+            }
+          }
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.setUnfinishedMessage(this);
+        } catch (java.io.IOException e) {
+          throw new com.google.protobuf.InvalidProtocolBufferException(
+              e).setUnfinishedMessage(this);
+        } finally {
+          this.unknownFields = unknownFields.build();
+          makeExtensionsImmutable();
+        }
+      }
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.zhigui.crossmesh.proto.Types.internal_static_pb_Proof_Endorsement_descriptor;
+      }
+
+      @java.lang.Override
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.zhigui.crossmesh.proto.Types.internal_static_pb_Proof_Endorsement_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                com.zhigui.crossmesh.proto.Types.Proof.Endorsement.class, com.zhigui.crossmesh.proto.Types.Proof.Endorsement.Builder.class);
+      }
+
+      public static final int ENDORSER_FIELD_NUMBER = 1;
+      private com.google.protobuf.ByteString endorser_;
+      /**
+       * <pre>
+       * serialized identity of the endorser
+       * </pre>
+       *
+       * <code>bytes endorser = 1;</code>
+       * @return The endorser.
+       */
+      public com.google.protobuf.ByteString getEndorser() {
+        return endorser_;
+      }
+
+      public static final int SIGNATURE_FIELD_NUMBER = 2;
+      private com.google.protobuf.ByteString signature_;
+      /**
+       * <code>bytes signature = 2;</code>
+       * @return The signature.
+       */
+      public com.google.protobuf.ByteString getSignature() {
+        return signature_;
+      }
+
+      private byte memoizedIsInitialized = -1;
+      @java.lang.Override
+      public final boolean isInitialized() {
+        byte isInitialized = memoizedIsInitialized;
+        if (isInitialized == 1) return true;
+        if (isInitialized == 0) return false;
+
+        memoizedIsInitialized = 1;
+        return true;
+      }
+
+      @java.lang.Override
+      public void writeTo(com.google.protobuf.CodedOutputStream output)
+                          throws java.io.IOException {
+        if (!endorser_.isEmpty()) {
+          output.writeBytes(1, endorser_);
+        }
+        if (!signature_.isEmpty()) {
+          output.writeBytes(2, signature_);
+        }
+        unknownFields.writeTo(output);
+      }
+
+      @java.lang.Override
+      public int getSerializedSize() {
+        int size = memoizedSize;
+        if (size != -1) return size;
+
+        size = 0;
+        if (!endorser_.isEmpty()) {
+          size += com.google.protobuf.CodedOutputStream
+            .computeBytesSize(1, endorser_);
+        }
+        if (!signature_.isEmpty()) {
+          size += com.google.protobuf.CodedOutputStream
+            .computeBytesSize(2, signature_);
+        }
+        size += unknownFields.getSerializedSize();
+        memoizedSize = size;
+        return size;
+      }
+
+      @java.lang.Override
+      public boolean equals(final java.lang.Object obj) {
+        if (obj == this) {
+         return true;
+        }
+        if (!(obj instanceof com.zhigui.crossmesh.proto.Types.Proof.Endorsement)) {
+          return super.equals(obj);
+        }
+        com.zhigui.crossmesh.proto.Types.Proof.Endorsement other = (com.zhigui.crossmesh.proto.Types.Proof.Endorsement) obj;
+
+        if (!getEndorser()
+            .equals(other.getEndorser())) return false;
+        if (!getSignature()
+            .equals(other.getSignature())) return false;
+        if (!unknownFields.equals(other.unknownFields)) return false;
+        return true;
+      }
+
+      @java.lang.Override
+      public int hashCode() {
+        if (memoizedHashCode != 0) {
+          return memoizedHashCode;
+        }
+        int hash = 41;
+        hash = (19 * hash) + getDescriptor().hashCode();
+        hash = (37 * hash) + ENDORSER_FIELD_NUMBER;
+        hash = (53 * hash) + getEndorser().hashCode();
+        hash = (37 * hash) + SIGNATURE_FIELD_NUMBER;
+        hash = (53 * hash) + getSignature().hashCode();
+        hash = (29 * hash) + unknownFields.hashCode();
+        memoizedHashCode = hash;
+        return hash;
+      }
+
+      public static com.zhigui.crossmesh.proto.Types.Proof.Endorsement parseFrom(
+          java.nio.ByteBuffer data)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data);
+      }
+      public static com.zhigui.crossmesh.proto.Types.Proof.Endorsement parseFrom(
+          java.nio.ByteBuffer data,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data, extensionRegistry);
+      }
+      public static com.zhigui.crossmesh.proto.Types.Proof.Endorsement parseFrom(
+          com.google.protobuf.ByteString data)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data);
+      }
+      public static com.zhigui.crossmesh.proto.Types.Proof.Endorsement parseFrom(
+          com.google.protobuf.ByteString data,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data, extensionRegistry);
+      }
+      public static com.zhigui.crossmesh.proto.Types.Proof.Endorsement parseFrom(byte[] data)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data);
+      }
+      public static com.zhigui.crossmesh.proto.Types.Proof.Endorsement parseFrom(
+          byte[] data,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data, extensionRegistry);
+      }
+      public static com.zhigui.crossmesh.proto.Types.Proof.Endorsement parseFrom(java.io.InputStream input)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input);
+      }
+      public static com.zhigui.crossmesh.proto.Types.Proof.Endorsement parseFrom(
+          java.io.InputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input, extensionRegistry);
+      }
+      public static com.zhigui.crossmesh.proto.Types.Proof.Endorsement parseDelimitedFrom(java.io.InputStream input)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseDelimitedWithIOException(PARSER, input);
+      }
+      public static com.zhigui.crossmesh.proto.Types.Proof.Endorsement parseDelimitedFrom(
+          java.io.InputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+      }
+      public static com.zhigui.crossmesh.proto.Types.Proof.Endorsement parseFrom(
+          com.google.protobuf.CodedInputStream input)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input);
+      }
+      public static com.zhigui.crossmesh.proto.Types.Proof.Endorsement parseFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input, extensionRegistry);
+      }
+
+      @java.lang.Override
+      public Builder newBuilderForType() { return newBuilder(); }
+      public static Builder newBuilder() {
+        return DEFAULT_INSTANCE.toBuilder();
+      }
+      public static Builder newBuilder(com.zhigui.crossmesh.proto.Types.Proof.Endorsement prototype) {
+        return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+      }
+      @java.lang.Override
+      public Builder toBuilder() {
+        return this == DEFAULT_INSTANCE
+            ? new Builder() : new Builder().mergeFrom(this);
+      }
+
+      @java.lang.Override
+      protected Builder newBuilderForType(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        Builder builder = new Builder(parent);
+        return builder;
+      }
+      /**
+       * Protobuf type {@code pb.Proof.Endorsement}
+       */
+      public static final class Builder extends
+          com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+          // @@protoc_insertion_point(builder_implements:pb.Proof.Endorsement)
+          com.zhigui.crossmesh.proto.Types.Proof.EndorsementOrBuilder {
+        public static final com.google.protobuf.Descriptors.Descriptor
+            getDescriptor() {
+          return com.zhigui.crossmesh.proto.Types.internal_static_pb_Proof_Endorsement_descriptor;
+        }
+
+        @java.lang.Override
+        protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+            internalGetFieldAccessorTable() {
+          return com.zhigui.crossmesh.proto.Types.internal_static_pb_Proof_Endorsement_fieldAccessorTable
+              .ensureFieldAccessorsInitialized(
+                  com.zhigui.crossmesh.proto.Types.Proof.Endorsement.class, com.zhigui.crossmesh.proto.Types.Proof.Endorsement.Builder.class);
+        }
+
+        // Construct using com.zhigui.crossmesh.proto.Types.Proof.Endorsement.newBuilder()
+        private Builder() {
+          maybeForceBuilderInitialization();
+        }
+
+        private Builder(
+            com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+          super(parent);
+          maybeForceBuilderInitialization();
+        }
+        private void maybeForceBuilderInitialization() {
+          if (com.google.protobuf.GeneratedMessageV3
+                  .alwaysUseFieldBuilders) {
+          }
+        }
+        @java.lang.Override
+        public Builder clear() {
+          super.clear();
+          endorser_ = com.google.protobuf.ByteString.EMPTY;
+
+          signature_ = com.google.protobuf.ByteString.EMPTY;
+
+          return this;
+        }
+
+        @java.lang.Override
+        public com.google.protobuf.Descriptors.Descriptor
+            getDescriptorForType() {
+          return com.zhigui.crossmesh.proto.Types.internal_static_pb_Proof_Endorsement_descriptor;
+        }
+
+        @java.lang.Override
+        public com.zhigui.crossmesh.proto.Types.Proof.Endorsement getDefaultInstanceForType() {
+          return com.zhigui.crossmesh.proto.Types.Proof.Endorsement.getDefaultInstance();
+        }
+
+        @java.lang.Override
+        public com.zhigui.crossmesh.proto.Types.Proof.Endorsement build() {
+          com.zhigui.crossmesh.proto.Types.Proof.Endorsement result = buildPartial();
+          if (!result.isInitialized()) {
+            throw newUninitializedMessageException(result);
+          }
+          return result;
+        }
+
+        @java.lang.Override
+        public com.zhigui.crossmesh.proto.Types.Proof.Endorsement buildPartial() {
+          com.zhigui.crossmesh.proto.Types.Proof.Endorsement result = new com.zhigui.crossmesh.proto.Types.Proof.Endorsement(this);
+          result.endorser_ = endorser_;
+          result.signature_ = signature_;
+          onBuilt();
+          return result;
+        }
+
+        @java.lang.Override
+        public Builder clone() {
+          return super.clone();
+        }
+        @java.lang.Override
+        public Builder setField(
+            com.google.protobuf.Descriptors.FieldDescriptor field,
+            java.lang.Object value) {
+          return super.setField(field, value);
+        }
+        @java.lang.Override
+        public Builder clearField(
+            com.google.protobuf.Descriptors.FieldDescriptor field) {
+          return super.clearField(field);
+        }
+        @java.lang.Override
+        public Builder clearOneof(
+            com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+          return super.clearOneof(oneof);
+        }
+        @java.lang.Override
+        public Builder setRepeatedField(
+            com.google.protobuf.Descriptors.FieldDescriptor field,
+            int index, java.lang.Object value) {
+          return super.setRepeatedField(field, index, value);
+        }
+        @java.lang.Override
+        public Builder addRepeatedField(
+            com.google.protobuf.Descriptors.FieldDescriptor field,
+            java.lang.Object value) {
+          return super.addRepeatedField(field, value);
+        }
+        @java.lang.Override
+        public Builder mergeFrom(com.google.protobuf.Message other) {
+          if (other instanceof com.zhigui.crossmesh.proto.Types.Proof.Endorsement) {
+            return mergeFrom((com.zhigui.crossmesh.proto.Types.Proof.Endorsement)other);
+          } else {
+            super.mergeFrom(other);
+            return this;
+          }
+        }
+
+        public Builder mergeFrom(com.zhigui.crossmesh.proto.Types.Proof.Endorsement other) {
+          if (other == com.zhigui.crossmesh.proto.Types.Proof.Endorsement.getDefaultInstance()) return this;
+          if (other.getEndorser() != com.google.protobuf.ByteString.EMPTY) {
+            setEndorser(other.getEndorser());
+          }
+          if (other.getSignature() != com.google.protobuf.ByteString.EMPTY) {
+            setSignature(other.getSignature());
+          }
+          this.mergeUnknownFields(other.unknownFields);
+          onChanged();
+          return this;
+        }
+
+        @java.lang.Override
+        public final boolean isInitialized() {
+          return true;
+        }
+
+        @java.lang.Override
+        public Builder mergeFrom(
+            com.google.protobuf.CodedInputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws java.io.IOException {
+          com.zhigui.crossmesh.proto.Types.Proof.Endorsement parsedMessage = null;
+          try {
+            parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+          } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+            parsedMessage = (com.zhigui.crossmesh.proto.Types.Proof.Endorsement) e.getUnfinishedMessage();
+            throw e.unwrapIOException();
+          } finally {
+            if (parsedMessage != null) {
+              mergeFrom(parsedMessage);
+            }
+          }
+          return this;
+        }
+
+        private com.google.protobuf.ByteString endorser_ = com.google.protobuf.ByteString.EMPTY;
+        /**
+         * <pre>
+         * serialized identity of the endorser
+         * </pre>
+         *
+         * <code>bytes endorser = 1;</code>
+         * @return The endorser.
+         */
+        public com.google.protobuf.ByteString getEndorser() {
+          return endorser_;
+        }
+        /**
+         * <pre>
+         * serialized identity of the endorser
+         * </pre>
+         *
+         * <code>bytes endorser = 1;</code>
+         * @param value The endorser to set.
+         * @return This builder for chaining.
+         */
+        public Builder setEndorser(com.google.protobuf.ByteString value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  
+          endorser_ = value;
+          onChanged();
+          return this;
+        }
+        /**
+         * <pre>
+         * serialized identity of the endorser
+         * </pre>
+         *
+         * <code>bytes endorser = 1;</code>
+         * @return This builder for chaining.
+         */
+        public Builder clearEndorser() {
+          
+          endorser_ = getDefaultInstance().getEndorser();
+          onChanged();
+          return this;
+        }
+
+        private com.google.protobuf.ByteString signature_ = com.google.protobuf.ByteString.EMPTY;
+        /**
+         * <code>bytes signature = 2;</code>
+         * @return The signature.
+         */
+        public com.google.protobuf.ByteString getSignature() {
+          return signature_;
+        }
+        /**
+         * <code>bytes signature = 2;</code>
+         * @param value The signature to set.
+         * @return This builder for chaining.
+         */
+        public Builder setSignature(com.google.protobuf.ByteString value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  
+          signature_ = value;
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>bytes signature = 2;</code>
+         * @return This builder for chaining.
+         */
+        public Builder clearSignature() {
+          
+          signature_ = getDefaultInstance().getSignature();
+          onChanged();
+          return this;
+        }
+        @java.lang.Override
+        public final Builder setUnknownFields(
+            final com.google.protobuf.UnknownFieldSet unknownFields) {
+          return super.setUnknownFields(unknownFields);
+        }
+
+        @java.lang.Override
+        public final Builder mergeUnknownFields(
+            final com.google.protobuf.UnknownFieldSet unknownFields) {
+          return super.mergeUnknownFields(unknownFields);
+        }
+
+
+        // @@protoc_insertion_point(builder_scope:pb.Proof.Endorsement)
+      }
+
+      // @@protoc_insertion_point(class_scope:pb.Proof.Endorsement)
+      private static final com.zhigui.crossmesh.proto.Types.Proof.Endorsement DEFAULT_INSTANCE;
+      static {
+        DEFAULT_INSTANCE = new com.zhigui.crossmesh.proto.Types.Proof.Endorsement();
+      }
+
+      public static com.zhigui.crossmesh.proto.Types.Proof.Endorsement getDefaultInstance() {
+        return DEFAULT_INSTANCE;
+      }
+
+      private static final com.google.protobuf.Parser<Endorsement>
+          PARSER = new com.google.protobuf.AbstractParser<Endorsement>() {
+        @java.lang.Override
+        public Endorsement parsePartialFrom(
+            com.google.protobuf.CodedInputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws com.google.protobuf.InvalidProtocolBufferException {
+          return new Endorsement(input, extensionRegistry);
+        }
+      };
+
+      public static com.google.protobuf.Parser<Endorsement> parser() {
+        return PARSER;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Parser<Endorsement> getParserForType() {
+        return PARSER;
+      }
+
+      @java.lang.Override
+      public com.zhigui.crossmesh.proto.Types.Proof.Endorsement getDefaultInstanceForType() {
+        return DEFAULT_INSTANCE;
+      }
+
+    }
+
+    public static final int VERSION_FIELD_NUMBER = 1;
+    private int version_;
+    /**
+     * <code>uint32 version = 1;</code>
+     * @return The version.
+     */
+    public int getVersion() {
+      return version_;
+    }
+
+    public static final int PROPOSAL_RESPONSE_PAYLOAD_FIELD_NUMBER = 2;
+    private com.google.protobuf.ByteString proposalResponsePayload_;
+    /**
+     * <pre>
+     * the ProposalResponsePayload signed by the endorsements
+     * </pre>
+     *
+     * <code>bytes proposal_response_payload = 2;</code>
+     * @return The proposalResponsePayload.
+     */
+    public com.google.protobuf.ByteString getProposalResponsePayload() {
+      return proposalResponsePayload_;
+    }
+
+    public static final int ENDORSEMENTS_FIELD_NUMBER = 3;
+    private java.util.List<com.zhigui.crossmesh.proto.Types.Proof.Endorsement> endorsements_;
+    /**
+     * <code>repeated .pb.Proof.Endorsement endorsements = 3;</code>
+     */
+    public java.util.List<com.zhigui.crossmesh.proto.Types.Proof.Endorsement> getEndorsementsList() {
+      return endorsements_;
+    }
+    /**
+     * <code>repeated .pb.Proof.Endorsement endorsements = 3;</code>
+     */
+    public java.util.List<? extends com.zhigui.crossmesh.proto.Types.Proof.EndorsementOrBuilder> 
+        getEndorsementsOrBuilderList() {
+      return endorsements_;
+    }
+    /**
+     * <code>repeated .pb.Proof.Endorsement endorsements = 3;</code>
+     */
+    public int getEndorsementsCount() {
+      return endorsements_.size();
+    }
+    /**
+     * <code>repeated .pb.Proof.Endorsement endorsements = 3;</code>
+     */
+    public com.zhigui.crossmesh.proto.Types.Proof.Endorsement getEndorsements(int index) {
+      return endorsements_.get(index);
+    }
+    /**
+     * <code>repeated .pb.Proof.Endorsement endorsements = 3;</code>
+     */
+    public com.zhigui.crossmesh.proto.Types.Proof.EndorsementOrBuilder getEndorsementsOrBuilder(
+        int index) {
+      return endorsements_.get(index);
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (version_ != 0) {
+        output.writeUInt32(1, version_);
+      }
+      if (!proposalResponsePayload_.isEmpty()) {
+        output.writeBytes(2, proposalResponsePayload_);
+      }
+      for (int i = 0; i < endorsements_.size(); i++) {
+        output.writeMessage(3, endorsements_.get(i));
+      }
+      unknownFields.writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (version_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt32Size(1, version_);
+      }
+      if (!proposalResponsePayload_.isEmpty()) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(2, proposalResponsePayload_);
+      }
+      for (int i = 0; i < endorsements_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(3, endorsements_.get(i));
+      }
+      size += unknownFields.getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof com.zhigui.crossmesh.proto.Types.Proof)) {
+        return super.equals(obj);
+      }
+      com.zhigui.crossmesh.proto.Types.Proof other = (com.zhigui.crossmesh.proto.Types.Proof) obj;
+
+      if (getVersion()
+          != other.getVersion()) return false;
+      if (!getProposalResponsePayload()
+          .equals(other.getProposalResponsePayload())) return false;
+      if (!getEndorsementsList()
+          .equals(other.getEndorsementsList())) return false;
+      if (!unknownFields.equals(other.unknownFields)) return false;
+      return true;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      hash = (37 * hash) + VERSION_FIELD_NUMBER;
+      hash = (53 * hash) + getVersion();
+      hash = (37 * hash) + PROPOSAL_RESPONSE_PAYLOAD_FIELD_NUMBER;
+      hash = (53 * hash) + getProposalResponsePayload().hashCode();
+      if (getEndorsementsCount() > 0) {
+        hash = (37 * hash) + ENDORSEMENTS_FIELD_NUMBER;
+        hash = (53 * hash) + getEndorsementsList().hashCode();
+      }
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static com.zhigui.crossmesh.proto.Types.Proof parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.zhigui.crossmesh.proto.Types.Proof parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.zhigui.crossmesh.proto.Types.Proof parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.zhigui.crossmesh.proto.Types.Proof parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.zhigui.crossmesh.proto.Types.Proof parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.zhigui.crossmesh.proto.Types.Proof parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.zhigui.crossmesh.proto.Types.Proof parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static com.zhigui.crossmesh.proto.Types.Proof parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static com.zhigui.crossmesh.proto.Types.Proof parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static com.zhigui.crossmesh.proto.Types.Proof parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static com.zhigui.crossmesh.proto.Types.Proof parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static com.zhigui.crossmesh.proto.Types.Proof parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(com.zhigui.crossmesh.proto.Types.Proof prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * <pre>
+     * Proof that a transaction was committed, passed base64 encoded in invocation args.
+     * </pre>
+     *
+     * Protobuf type {@code pb.Proof}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:pb.Proof)
+        com.zhigui.crossmesh.proto.Types.ProofOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.zhigui.crossmesh.proto.Types.internal_static_pb_Proof_descriptor;
+      }
+
+      @java.lang.Override
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.zhigui.crossmesh.proto.Types.internal_static_pb_Proof_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                com.zhigui.crossmesh.proto.Types.Proof.class, com.zhigui.crossmesh.proto.Types.Proof.Builder.class);
+      }
+
+      // Construct using com.zhigui.crossmesh.proto.Types.Proof.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+          getEndorsementsFieldBuilder();
+        }
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        version_ = 0;
+
+        proposalResponsePayload_ = com.google.protobuf.ByteString.EMPTY;
+
+        if (endorsementsBuilder_ == null) {
+          endorsements_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+        } else {
+          endorsementsBuilder_.clear();
+        }
+        return this;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.zhigui.crossmesh.proto.Types.internal_static_pb_Proof_descriptor;
+      }
+
+      @java.lang.Override
+      public com.zhigui.crossmesh.proto.Types.Proof getDefaultInstanceForType() {
+        return com.zhigui.crossmesh.proto.Types.Proof.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public com.zhigui.crossmesh.proto.Types.Proof build() {
+        com.zhigui.crossmesh.proto.Types.Proof result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public com.zhigui.crossmesh.proto.Types.Proof buildPartial() {
+        com.zhigui.crossmesh.proto.Types.Proof result = new com.zhigui.crossmesh.proto.Types.Proof(this);
+        int from_bitField0_ = bitField0_;
+        result.version_ = version_;
+        result.proposalResponsePayload_ = proposalResponsePayload_;
+        if (endorsementsBuilder_ == null) {
+          if (((bitField0_ & 0x00000001) != 0)) {
+            endorsements_ = java.util.Collections.unmodifiableList(endorsements_);
+            bitField0_ = (bitField0_ & ~0x00000001);
+          }
+          result.endorsements_ = endorsements_;
+        } else {
+          result.endorsements_ = endorsementsBuilder_.build();
+        }
+        onBuilt();
+        return result;
+      }
+
+      @java.lang.Override
+      public Builder clone() {
+        return super.clone();
+      }
+      @java.lang.Override
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return super.setField(field, value);
+      }
+      @java.lang.Override
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return super.clearField(field);
+      }
+      @java.lang.Override
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return super.clearOneof(oneof);
+      }
+      @java.lang.Override
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, java.lang.Object value) {
+        return super.setRepeatedField(field, index, value);
+      }
+      @java.lang.Override
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return super.addRepeatedField(field, value);
+      }
+      @java.lang.Override
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.zhigui.crossmesh.proto.Types.Proof) {
+          return mergeFrom((com.zhigui.crossmesh.proto.Types.Proof)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(com.zhigui.crossmesh.proto.Types.Proof other) {
+        if (other == com.zhigui.crossmesh.proto.Types.Proof.getDefaultInstance()) return this;
+        if (other.getVersion() != 0) {
+          setVersion(other.getVersion());
+        }
+        if (other.getProposalResponsePayload() != com.google.protobuf.ByteString.EMPTY) {
+          setProposalResponsePayload(other.getProposalResponsePayload());
+        }
+        if (endorsementsBuilder_ == null) {
+          if (!other.endorsements_.isEmpty()) {
+            if (endorsements_.isEmpty()) {
+              endorsements_ = other.endorsements_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+            } else {
+              ensureEndorsementsIsMutable();
+              endorsements_.addAll(other.endorsements_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.endorsements_.isEmpty()) {
+            if (endorsementsBuilder_.isEmpty()) {
+              endorsementsBuilder_.dispose();
+              endorsementsBuilder_ = null;
+              endorsements_ = other.endorsements_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+              endorsementsBuilder_ = 
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getEndorsementsFieldBuilder() : null;
+            } else {
+              endorsementsBuilder_.addAllMessages(other.endorsements_);
+            }
+          }
+        }
+        this.mergeUnknownFields(other.unknownFields);
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.zhigui.crossmesh.proto.Types.Proof parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (com.zhigui.crossmesh.proto.Types.Proof) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private int version_ ;
+      /**
+       * <code>uint32 version = 1;</code>
+       * @return The version.
+       */
+      public int getVersion() {
+        return version_;
+      }
+      /**
+       * <code>uint32 version = 1;</code>
+       * @param value The version to set.
+       * @return This builder for chaining.
+       */
+      public Builder setVersion(int value) {
+        
+        version_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>uint32 version = 1;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearVersion() {
+        
+        version_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private com.google.protobuf.ByteString proposalResponsePayload_ = com.google.protobuf.ByteString.EMPTY;
+      /**
+       * <pre>
+       * the ProposalResponsePayload signed by the endorsements
+       * </pre>
+       *
+       * <code>bytes proposal_response_payload = 2;</code>
+       * @return The proposalResponsePayload.
+       */
+      public com.google.protobuf.ByteString getProposalResponsePayload() {
+        return proposalResponsePayload_;
+      }
+      /**
+       * <pre>
+       * the ProposalResponsePayload signed by the endorsements
+       * </pre>
+       *
+       * <code>bytes proposal_response_payload = 2;</code>
+       * @param value The proposalResponsePayload to set.
+       * @return This builder for chaining.
+       */
+      public Builder setProposalResponsePayload(com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        proposalResponsePayload_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * the ProposalResponsePayload signed by the endorsements
+       * </pre>
+       *
+       * <code>bytes proposal_response_payload = 2;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearProposalResponsePayload() {
+        
+        proposalResponsePayload_ = getDefaultInstance().getProposalResponsePayload();
+        onChanged();
+        return this;
+      }
+
+      private java.util.List<com.zhigui.crossmesh.proto.Types.Proof.Endorsement> endorsements_ =
+        java.util.Collections.emptyList();
+      private void ensureEndorsementsIsMutable() {
+        if (!((bitField0_ & 0x00000001) != 0)) {
+          endorsements_ = new java.util.ArrayList<com.zhigui.crossmesh.proto.Types.Proof.Endorsement>(endorsements_);
+          bitField0_ |= 0x00000001;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          com.zhigui.crossmesh.proto.Types.Proof.Endorsement, com.zhigui.crossmesh.proto.Types.Proof.Endorsement.Builder, com.zhigui.crossmesh.proto.Types.Proof.EndorsementOrBuilder> endorsementsBuilder_;
+
+      /**
+       * <code>repeated .pb.Proof.Endorsement endorsements = 3;</code>
+       */
+      public java.util.List<com.zhigui.crossmesh.proto.Types.Proof.Endorsement> getEndorsementsList() {
+        if (endorsementsBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(endorsements_);
+        } else {
+          return endorsementsBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .pb.Proof.Endorsement endorsements = 3;</code>
+       */
+      public int getEndorsementsCount() {
+        if (endorsementsBuilder_ == null) {
+          return endorsements_.size();
+        } else {
+          return endorsementsBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .pb.Proof.Endorsement endorsements = 3;</code>
+       */
+      public com.zhigui.crossmesh.proto.Types.Proof.Endorsement getEndorsements(int index) {
+        if (endorsementsBuilder_ == null) {
+          return endorsements_.get(index);
+        } else {
+          return endorsementsBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .pb.Proof.Endorsement endorsements = 3;</code>
+       */
+      public Builder setEndorsements(
+          int index, com.zhigui.crossmesh.proto.Types.Proof.Endorsement value) {
+        if (endorsementsBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureEndorsementsIsMutable();
+          endorsements_.set(index, value);
+          onChanged();
+        } else {
+          endorsementsBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .pb.Proof.Endorsement endorsements = 3;</code>
+       */
+      public Builder setEndorsements(
+          int index, com.zhigui.crossmesh.proto.Types.Proof.Endorsement.Builder builderForValue) {
+        if (endorsementsBuilder_ == null) {
+          ensureEndorsementsIsMutable();
+          endorsements_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          endorsementsBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .pb.Proof.Endorsement endorsements = 3;</code>
+       */
+      public Builder addEndorsements(com.zhigui.crossmesh.proto.Types.Proof.Endorsement value) {
+        if (endorsementsBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureEndorsementsIsMutable();
+          endorsements_.add(value);
+          onChanged();
+        } else {
+          endorsementsBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .pb.Proof.Endorsement endorsements = 3;</code>
+       */
+      public Builder addEndorsements(
+          int index, com.zhigui.crossmesh.proto.Types.Proof.Endorsement value) {
+        if (endorsementsBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureEndorsementsIsMutable();
+          endorsements_.add(index, value);
+          onChanged();
+        } else {
+          endorsementsBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .pb.Proof.Endorsement endorsements = 3;</code>
+       */
+      public Builder addEndorsements(
+          com.zhigui.crossmesh.proto.Types.Proof.Endorsement.Builder builderForValue) {
+        if (endorsementsBuilder_ == null) {
+          ensureEndorsementsIsMutable();
+          endorsements_.add(builderForValue.build());
+          onChanged();
+        } else {
+          endorsementsBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .pb.Proof.Endorsement endorsements = 3;</code>
+       */
+      public Builder addEndorsements(
+          int index, com.zhigui.crossmesh.proto.Types.Proof.Endorsement.Builder builderForValue) {
+        if (endorsementsBuilder_ == null) {
+          ensureEndorsementsIsMutable();
+          endorsements_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          endorsementsBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .pb.Proof.Endorsement endorsements = 3;</code>
+       */
+      public Builder addAllEndorsements(
+          java.lang.Iterable<? extends com.zhigui.crossmesh.proto.Types.Proof.Endorsement> values) {
+        if (endorsementsBuilder_ == null) {
+          ensureEndorsementsIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, endorsements_);
+          onChanged();
+        } else {
+          endorsementsBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .pb.Proof.Endorsement endorsements = 3;</code>
+       */
+      public Builder clearEndorsements() {
+        if (endorsementsBuilder_ == null) {
+          endorsements_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+          onChanged();
+        } else {
+          endorsementsBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .pb.Proof.Endorsement endorsements = 3;</code>
+       */
+      public Builder removeEndorsements(int index) {
+        if (endorsementsBuilder_ == null) {
+          ensureEndorsementsIsMutable();
+          endorsements_.remove(index);
+          onChanged();
+        } else {
+          endorsementsBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .pb.Proof.Endorsement endorsements = 3;</code>
+       */
+      public com.zhigui.crossmesh.proto.Types.Proof.Endorsement.Builder getEndorsementsBuilder(
+          int index) {
+        return getEndorsementsFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .pb.Proof.Endorsement endorsements = 3;</code>
+       */
+      public com.zhigui.crossmesh.proto.Types.Proof.EndorsementOrBuilder getEndorsementsOrBuilder(
+          int index) {
+        if (endorsementsBuilder_ == null) {
+          return endorsements_.get(index);  } else {
+          return endorsementsBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .pb.Proof.Endorsement endorsements = 3;</code>
+       */
+      public java.util.List<? extends com.zhigui.crossmesh.proto.Types.Proof.EndorsementOrBuilder> 
+           getEndorsementsOrBuilderList() {
+        if (endorsementsBuilder_ != null) {
+          return endorsementsBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(endorsements_);
+        }
+      }
+      /**
+       * <code>repeated .pb.Proof.Endorsement endorsements = 3;</code>
+       */
+      public com.zhigui.crossmesh.proto.Types.Proof.Endorsement.Builder addEndorsementsBuilder() {
+        return getEndorsementsFieldBuilder().addBuilder(
+            com.zhigui.crossmesh.proto.Types.Proof.Endorsement.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .pb.Proof.Endorsement endorsements = 3;</code>
+       */
+      public com.zhigui.crossmesh.proto.Types.Proof.Endorsement.Builder addEndorsementsBuilder(
+          int index) {
+        return getEndorsementsFieldBuilder().addBuilder(
+            index, com.zhigui.crossmesh.proto.Types.Proof.Endorsement.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .pb.Proof.Endorsement endorsements = 3;</code>
+       */
+      public java.util.List<com.zhigui.crossmesh.proto.Types.Proof.Endorsement.Builder> 
+           getEndorsementsBuilderList() {
+        return getEndorsementsFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          com.zhigui.crossmesh.proto.Types.Proof.Endorsement, com.zhigui.crossmesh.proto.Types.Proof.Endorsement.Builder, com.zhigui.crossmesh.proto.Types.Proof.EndorsementOrBuilder> 
+          getEndorsementsFieldBuilder() {
+        if (endorsementsBuilder_ == null) {
+          endorsementsBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
+              com.zhigui.crossmesh.proto.Types.Proof.Endorsement, com.zhigui.crossmesh.proto.Types.Proof.Endorsement.Builder, com.zhigui.crossmesh.proto.Types.Proof.EndorsementOrBuilder>(
+                  endorsements_,
+                  ((bitField0_ & 0x00000001) != 0),
+                  getParentForChildren(),
+                  isClean());
+          endorsements_ = null;
+        }
+        return endorsementsBuilder_;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:pb.Proof)
+    }
+
+    // @@protoc_insertion_point(class_scope:pb.Proof)
+    private static final com.zhigui.crossmesh.proto.Types.Proof DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new com.zhigui.crossmesh.proto.Types.Proof();
+    }
+
+    public static com.zhigui.crossmesh.proto.Types.Proof getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<Proof>
+        PARSER = new com.google.protobuf.AbstractParser<Proof>() {
+      @java.lang.Override
+      public Proof parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new Proof(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<Proof> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<Proof> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.zhigui.crossmesh.proto.Types.Proof getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface VerifyInfoOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:pb.VerifyInfo)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>string Contract = 1;</code>
+     * @return The contract.
+     */
+    java.lang.String getContract();
+    /**
+     * <code>string Contract = 1;</code>
+     * @return The bytes for contract.
+     */
+    com.google.protobuf.ByteString
+        getContractBytes();
+
+    /**
+     * <code>string function = 2;</code>
+     * @return The function.
+     */
+    java.lang.String getFunction();
+    /**
+     * <code>string function = 2;</code>
+     * @return The bytes for function.
+     */
+    com.google.protobuf.ByteString
+        getFunctionBytes();
+  }
   /**
    * Protobuf type {@code pb.VerifyInfo}
    */
@@ -14148,6 +16979,21 @@ public final class Types {
   private static final 
     com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
       internal_static_pb_GlobalTransactionStatus_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_pb_GlobalTransactionStatusList_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_pb_GlobalTransactionStatusList_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_pb_Proof_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_pb_Proof_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_pb_Proof_Endorsement_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_pb_Proof_Endorsement_fieldAccessorTable;
   private static final com.google.protobuf.Descriptors.Descriptor
     internal_static_pb_VerifyInfo_descriptor;
   private static final 
@@ -14189,7 +17035,7 @@ public final class Types {
       "ESS\020\000\022\n\n\006FAILED\020\001\"-\n\017PrimaryLockMeta\022\013\n\003" +
       "xid\030\001 \001(\t\022\r\n\005chain\030\002 \001(\t\"%\n\003URI\022\017\n\007netwo" +
       "rk\030\001 \001(\t\022\r\n\005chain\030\002 \001(\t\"1\n\rTransactionID" +
-      "\022\024\n\003uri\030\001 \001(\0132\007.pb.URI\022\n\n\002id\030\002 \001(\t\"\234\002\n\037P" +
+      "\022\024\n\003uri\030\001 \001(\0132\007.pb.URI\022\n\n\002id\030\002 \001(\t\"\312\002\n\037P" +
       "rimaryTransactionPreparedEvent\0220\n\025primar" +
       "y_prepare_tx_id\030\001 \001(\0132\021.pb.TransactionID" +
       "\0221\n\022primary_confirm_tx\030\002 \001(\0132\025.pb.Branch" +
@@ -14197,28 +17043,38 @@ public final class Types {
       "\001(\0132\016.pb.Invocation\0221\n\022branch_prepare_tx" +
       "s\030\004 \003(\0132\025.pb.BranchTransaction\0221\n\022branch" +
       "_confirm_txs\030\005 \003(\0132\025.pb.BranchTransactio" +
-      "n\"\207\001\n PrimaryTransactionConfirmedEvent\0220" +
-      "\n\025primary_confirm_tx_id\030\001 \001(\0132\021.pb.Trans" +
-      "actionID\0221\n\022branch_confirm_txs\030\002 \003(\0132\025.p" +
-      "b.BranchTransaction\"\255\001\n\036BranchTransactio" +
-      "nPreparedEvent\0220\n\025primary_prepare_tx_id\030" +
-      "\001 \001(\0132\021.pb.TransactionID\022.\n\026global_tx_st" +
-      "atus_query\030\002 \001(\0132\016.pb.Invocation\022)\n\nconf" +
-      "irm_tx\030\003 \001(\0132\025.pb.BranchTransaction\"\256\001\n\027" +
-      "GlobalTransactionStatus\0220\n\025primary_prepa" +
-      "re_tx_id\030\001 \001(\0132\021.pb.TransactionID\022/\n\006sta" +
-      "tus\030\002 \001(\0162\037.pb.GlobalTransactionStatusTy" +
-      "pe\0220\n\025primary_confirm_tx_id\030\003 \001(\0132\021.pb.T" +
-      "ransactionID\"0\n\nVerifyInfo\022\020\n\010Contract\030\001" +
-      " \001(\t\022\020\n\010function\030\002 \001(\t\"i\n ResourceRegist" +
-      "eredOrUpdatedEvent\022\024\n\003uri\030\001 \001(\0132\007.pb.URI" +
-      "\022\022\n\nconnection\030\002 \001(\014\022\033\n\004type\030\003 \001(\0162\r.pb." +
-      "ChainType*1\n\tChainType\022\n\n\006FABRIC\020\000\022\016\n\nXU" +
-      "PERCHAIN\020\001\022\010\n\004BCOS\020\002*\204\001\n\033GlobalTransacti" +
-      "onStatusType\022 \n\034PRIMARY_TRANSACTION_PREP" +
-      "ARED\020\000\022!\n\035PRIMARY_TRANSACTION_COMMITTED\020" +
-      "\001\022 \n\034PRIMARY_TRANSACTION_CANCELED\020\002B\034\n\032c" +
-      "om.zhigui.crossmesh.protob\006proto3"
+      "n\022,\n\010ttl_time\030\006 \001(\0132\032.google.protobuf.Ti" +
+      "mestamp\"\352\001\n PrimaryTransactionConfirmedE" +
+      "vent\0220\n\025primary_confirm_tx_id\030\001 \001(\0132\021.pb" +
+      ".TransactionID\0221\n\022branch_confirm_txs\030\002 \003" +
+      "(\0132\025.pb.BranchTransaction\0220\n\025primary_pre" +
+      "pare_tx_id\030\003 \001(\0132\021.pb.TransactionID\022/\n\006s" +
+      "tatus\030\004 \001(\0162\037.pb.GlobalTransactionStatus" +
+      "Type\"\255\001\n\036BranchTransactionPreparedEvent\022" +
+      "0\n\025primary_prepare_tx_id\030\001 \001(\0132\021.pb.Tran" +
+      "sactionID\022.\n\026global_tx_status_query\030\002 \001(" +
+      "\0132\016.pb.Invocation\022)\n\nconfirm_tx\030\003 \001(\0132\025." +
+      "pb.BranchTransaction\"\256\001\n\027GlobalTransacti" +
+      "onStatus\0220\n\025primary_prepare_tx_id\030\001 \001(\0132" +
+      "\021.pb.TransactionID\022/\n\006status\030\002 \001(\0162\037.pb." +
+      "GlobalTransactionStatusType\0220\n\025primary_c" +
+      "onfirm_tx_id\030\003 \001(\0132\021.pb.TransactionID\"L\n" +
+      "\033GlobalTransactionStatusList\022-\n\010statuses" +
+      "\030\001 \003(\0132\033.pb.GlobalTransactionStatus\"\234\001\n\005" +
+      "Proof\022\017\n\007version\030\001 \001(\r\022!\n\031proposal_respo" +
+      "nse_payload\030\002 \001(\014\022+\n\014endorsements\030\003 \003(\0132" +
+      "\025.pb.Proof.Endorsement\0322\n\013Endorsement\022\020\n" +
+      "\010endorser\030\001 \001(\014\022\021\n\tsignature\030\002 \001(\014\"0\n\nVe" +
+      "rifyInfo\022\020\n\010Contract\030\001 \001(\t\022\020\n\010function\030\002" +
+      " \001(\t\"i\n ResourceRegisteredOrUpdatedEvent" +
+      "\022\024\n\003uri\030\001 \001(\0132\007.pb.URI\022\022\n\nconnection\030\002 \001" +
+      "(\014\022\033\n\004type\030\003 \001(\0162\r.pb.ChainType*1\n\tChain" +
+      "Type\022\n\n\006FABRIC\020\000\022\016\n\nXUPERCHAIN\020\001\022\010\n\004BCOS" +
+      "\020\002*\204\001\n\033GlobalTransactionStatusType\022 \n\034PR" +
+      "IMARY_TRANSACTION_PREPARED\020\000\022!\n\035PRIMARY_" +
+      "TRANSACTION_COMMITTED\020\001\022 \n\034PRIMARY_TRANS" +
+      "ACTION_CANCELED\020\002B\034\n\032com.zhigui.crossmes" +
+      "h.protob\006proto3"
     };
     descriptor = com.google.protobuf.Descriptors.FileDescriptor
       .internalBuildGeneratedFileFrom(descriptorData,
@@ -14278,13 +17134,13 @@ public final class Types {
     internal_static_pb_PrimaryTransactionPreparedEvent_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_pb_PrimaryTransactionPreparedEvent_descriptor,
-        new java.lang.String[] { "PrimaryPrepareTxId", "PrimaryConfirmTx", "GlobalTxStatusQuery", "BranchPrepareTxs", "BranchConfirmTxs", });
+        new java.lang.String[] { "PrimaryPrepareTxId", "PrimaryConfirmTx", "GlobalTxStatusQuery", "BranchPrepareTxs", "BranchConfirmTxs", "TtlTime", });
     internal_static_pb_PrimaryTransactionConfirmedEvent_descriptor =
       getDescriptor().getMessageTypes().get(9);
     internal_static_pb_PrimaryTransactionConfirmedEvent_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_pb_PrimaryTransactionConfirmedEvent_descriptor,
-        new java.lang.String[] { "PrimaryConfirmTxId", "BranchConfirmTxs", });
+        new java.lang.String[] { "PrimaryConfirmTxId", "BranchConfirmTxs", "PrimaryPrepareTxId", "Status", });
     internal_static_pb_BranchTransactionPreparedEvent_descriptor =
       getDescriptor().getMessageTypes().get(10);
     internal_static_pb_BranchTransactionPreparedEvent_fieldAccessorTable = new
@@ -14297,14 +17153,32 @@ public final class Types {
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_pb_GlobalTransactionStatus_descriptor,
         new java.lang.String[] { "PrimaryPrepareTxId", "Status", "PrimaryConfirmTxId", });
-    internal_static_pb_VerifyInfo_descriptor =
+    internal_static_pb_GlobalTransactionStatusList_descriptor =
       getDescriptor().getMessageTypes().get(12);
+    internal_static_pb_GlobalTransactionStatusList_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_pb_GlobalTransactionStatusList_descriptor,
+        new java.lang.String[] { "Statuses", });
+    internal_static_pb_Proof_descriptor =
+      getDescriptor().getMessageTypes().get(13);
+    internal_static_pb_Proof_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_pb_Proof_descriptor,
+        new java.lang.String[] { "Version", "ProposalResponsePayload", "Endorsements", });
+    internal_static_pb_Proof_Endorsement_descriptor =
+      internal_static_pb_Proof_descriptor.getNestedTypes().get(0);
+    internal_static_pb_Proof_Endorsement_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_pb_Proof_Endorsement_descriptor,
+        new java.lang.String[] { "Endorser", "Signature", });
+    internal_static_pb_VerifyInfo_descriptor =
+      getDescriptor().getMessageTypes().get(14);
     internal_static_pb_VerifyInfo_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_pb_VerifyInfo_descriptor,
         new java.lang.String[] { "Contract", "Function", });
     internal_static_pb_ResourceRegisteredOrUpdatedEvent_descriptor =
-      getDescriptor().getMessageTypes().get(13);
+      getDescriptor().getMessageTypes().get(15);
     internal_static_pb_ResourceRegisteredOrUpdatedEvent_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_pb_ResourceRegisteredOrUpdatedEvent_descriptor,
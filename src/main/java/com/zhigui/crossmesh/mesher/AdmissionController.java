@@ -0,0 +1,114 @@
+package com.zhigui.crossmesh.mesher;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Caps the number of global transactions driven at once. Work above the cap waits in a bounded
+ * backlog and is started in arrival order as running transactions finish; once the backlog is full
+ * the caller is blocked until there is room again. Callers are the checkpointed contract listeners,
+ * which FabricResource always attaches at a start block, so each runs on a replay event source of
+ * its own: blocking one never holds up the commit events that in-flight transactions wait for.
+ */
+@Component
+public class AdmissionController {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdmissionController.class);
+
+    private final Semaphore permits;
+
+    private final ArrayBlockingQueue<Admitted> backlog;
+
+    private final Counter throttledCounter;
+
+    private final Counter rejectedCounter;
+
+    public AdmissionController(Config config, MeterRegistry meterRegistry) {
+        int maxInFlight = config.getMaxInFlightTransactions();
+        this.permits = new Semaphore(maxInFlight);
+        this.backlog = new ArrayBlockingQueue<>(config.getAdmissionBacklogSize());
+        this.throttledCounter = meterRegistry.counter("mesher.admission.throttled");
+        this.rejectedCounter = meterRegistry.counter("mesher.admission.rejected");
+        meterRegistry.gauge("mesher.admission.in-flight", this.permits, semaphore -> maxInFlight - semaphore.availablePermits());
+        meterRegistry.gauge("mesher.admission.backlog", this.backlog, ArrayBlockingQueue::size);
+    }
+
+    /**
+     * @param task starts a global transaction and returns a future completing when it is finished
+     * @return a future completing with the task, failed if the task failed or the caller was
+     * interrupted while waiting for room in the backlog
+     */
+    public CompletableFuture<Void> admit(Supplier<CompletableFuture<?>> task) {
+        Admitted admitted = new Admitted(task);
+        // a permit freed while work is backlogged belongs to the backlog
+        if (this.backlog.isEmpty() && this.permits.tryAcquire()) {
+            run(admitted);
+            return admitted.finished;
+        }
+        if (!this.backlog.offer(admitted)) {
+            this.throttledCounter.increment();
+            try {
+                this.backlog.put(admitted);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                this.rejectedCounter.increment();
+                admitted.finished.completeExceptionally(e);
+                return admitted.finished;
+            }
+        }
+        // a permit may have been released between tryAcquire and offer
+        drain();
+        return admitted.finished;
+    }
+
+    private void run(Admitted admitted) {
+        CompletableFuture<?> future;
+        try {
+            future = admitted.task.get();
+        } catch (RuntimeException e) {
+            LOGGER.error("start global transaction failed", e);
+            this.permits.release();
+            drain();
+            admitted.finished.completeExceptionally(e);
+            return;
+        }
+        future.whenComplete((v, throwable) -> {
+            this.permits.release();
+            drain();
+            if (throwable != null) {
+                admitted.finished.completeExceptionally(throwable);
+            } else {
+                admitted.finished.complete(null);
+            }
+        });
+    }
+
+    private void drain() {
+        while (!this.backlog.isEmpty() && this.permits.tryAcquire()) {
+            Admitted admitted = this.backlog.poll();
+            if (admitted == null) {
+                this.permits.release();
+                return;
+            }
+            run(admitted);
+        }
+    }
+
+    private static final class Admitted {
+        private final Supplier<CompletableFuture<?>> task;
+
+        private final CompletableFuture<Void> finished;
+
+        Admitted(Supplier<CompletableFuture<?>> task) {
+            this.task = task;
+            this.finished = new CompletableFuture<>();
+        }
+    }
+}
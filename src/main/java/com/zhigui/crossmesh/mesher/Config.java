@@ -19,9 +19,114 @@ public class Config {
     @Value("${mesher.id-base-path}")
     private String idBasePath;
 
+    @Value("${mesher.checkpoint-dir:data/crossmesh/checkpoint}")
+    private String checkpointDir;
+
     @Value("${mesher.coordinator.cross-monitor-thread-num}")
     private int crossMonitorThreadNum;
 
+    @Value("${mesher.coordinator.min-poll-delay-millis:500}")
+    private long minPollDelayMillis;
+
+    @Value("${mesher.coordinator.max-poll-delay-millis:30000}")
+    private long maxPollDelayMillis;
+
+    @Value("${mesher.coordinator.monitor-log-dir:data/crossmesh/monitor-log}")
+    private String monitorLogDir;
+
+    @Value("${mesher.coordinator.monitor-log-compact-threshold:10000}")
+    private int monitorLogCompactThreshold;
+
+    @Value("${mesher.coordinator.pending-memory-budget-bytes:67108864}")
+    private long pendingMemoryBudgetBytes;
+
+    @Value("${mesher.coordinator.global-tx-status-batch-func:batchQueryGlobalTransactionStatus}")
+    private String globalTxStatusBatchFunc;
+
+    @Value("${mesher.coordinator.global-tx-status-batch-size:200}")
+    private int globalTxStatusBatchSize;
+
+    @Value("${mesher.coordinator.fallback-poll-delay-seconds:30}")
+    private long fallbackPollDelaySeconds;
+
+    @Value("${mesher.coordinator.event-loop-num:0}")
+    private int eventLoopNum;
+
+    @Value("${mesher.coordinator.branch-confirm-thread-num:4}")
+    private int branchConfirmThreadNum;
+
+    @Value("${mesher.coordinator.max-in-flight-transactions:1000}")
+    private int maxInFlightTransactions;
+
+    @Value("${mesher.coordinator.admission-backlog-size:10000}")
+    private int admissionBacklogSize;
+
+    @Value("${mesher.coordinator.done-transaction-retention-seconds:600}")
+    private long doneTransactionRetentionSeconds;
+
+    @Value("${mesher.coordinator.early-abort-enabled:false}")
+    private boolean earlyAbortEnabled;
+
+    @Value("${mesher.proof.verify-enabled:true}")
+    private boolean proofVerifyEnabled;
+
+    @Value("${mesher.proof.verify-thread-num:0}")
+    private int proofVerifyThreadNum;
+
+    @Value("${mesher.proof.policy-cache-seconds:300}")
+    private long proofPolicyCacheSeconds;
+
+    @Value("${mesher.proof.certificate-cache-size:1000}")
+    private long proofCertificateCacheSize;
+
+    @Value("${mesher.retry.max-attempts:5}")
+    private int retryMaxAttempts;
+
+    @Value("${mesher.retry.initial-backoff-millis:200}")
+    private long retryInitialBackoffMillis;
+
+    @Value("${mesher.retry.max-backoff-millis:10000}")
+    private long retryMaxBackoffMillis;
+
+    @Value("${mesher.resource.limiter.initial-limit:8}")
+    private int resourceLimiterInitialLimit;
+
+    @Value("${mesher.resource.limiter.max-limit:64}")
+    private int resourceLimiterMaxLimit;
+
+    @Value("${mesher.resource.limiter.max-queue-size:10000}")
+    private int resourceLimiterMaxQueueSize;
+
+    @Value("${mesher.resource.limiter.max-confirm-queue-size:100000}")
+    private int resourceLimiterMaxConfirmQueueSize;
+
+    @Value("${mesher.resource.io-thread-num:32}")
+    private int resourceIoThreadNum;
+
+    @Value("${mesher.resource.io-queue-size:10000}")
+    private int resourceIoQueueSize;
+
+    @Value("${mesher.resource.global-tx-status-cache.max-size:100000}")
+    private long globalTxStatusCacheMaxSize;
+
+    @Value("${mesher.resource.transaction-proof-cache.max-size:10000}")
+    private long transactionProofCacheMaxSize;
+
+    @Value("${mesher.resource.transaction-proof-cache.expire-seconds:300}")
+    private long transactionProofCacheExpireSeconds;
+
+    @Value("${mesher.resource.proof-catch-up.attempts:6}")
+    private int proofCatchUpAttempts;
+
+    @Value("${mesher.resource.proof-catch-up.interval-millis:5000}")
+    private long proofCatchUpIntervalMillis;
+
+    @Value("${mesher.timer.tick-millis:100}")
+    private long timerTickMillis;
+
+    @Value("${mesher.timer.ticks-per-wheel:512}")
+    private int timerTicksPerWheel;
+
     @Value("${mesher.meta-network-name}")
     private String metaNetwork;
 
@@ -50,6 +155,14 @@ public class Config {
         this.idBasePath = idBasePath;
     }
 
+    public String getCheckpointDir() {
+        return checkpointDir;
+    }
+
+    public void setCheckpointDir(String checkpointDir) {
+        this.checkpointDir = checkpointDir;
+    }
+
     public int getCrossMonitorThreadNum() {
         return crossMonitorThreadNum;
     }
@@ -58,6 +171,278 @@ public class Config {
         this.crossMonitorThreadNum = crossMonitorThreadNum;
     }
 
+    public long getMinPollDelayMillis() {
+        return minPollDelayMillis;
+    }
+
+    public void setMinPollDelayMillis(long minPollDelayMillis) {
+        this.minPollDelayMillis = minPollDelayMillis;
+    }
+
+    public String getMonitorLogDir() {
+        return monitorLogDir;
+    }
+
+    public void setMonitorLogDir(String monitorLogDir) {
+        this.monitorLogDir = monitorLogDir;
+    }
+
+    public int getMonitorLogCompactThreshold() {
+        return monitorLogCompactThreshold;
+    }
+
+    public void setMonitorLogCompactThreshold(int monitorLogCompactThreshold) {
+        this.monitorLogCompactThreshold = monitorLogCompactThreshold;
+    }
+
+    public long getPendingMemoryBudgetBytes() {
+        return pendingMemoryBudgetBytes;
+    }
+
+    public void setPendingMemoryBudgetBytes(long pendingMemoryBudgetBytes) {
+        this.pendingMemoryBudgetBytes = pendingMemoryBudgetBytes;
+    }
+
+    public long getMaxPollDelayMillis() {
+        return maxPollDelayMillis;
+    }
+
+    public void setMaxPollDelayMillis(long maxPollDelayMillis) {
+        this.maxPollDelayMillis = maxPollDelayMillis;
+    }
+
+    public String getGlobalTxStatusBatchFunc() {
+        return globalTxStatusBatchFunc;
+    }
+
+    public void setGlobalTxStatusBatchFunc(String globalTxStatusBatchFunc) {
+        this.globalTxStatusBatchFunc = globalTxStatusBatchFunc;
+    }
+
+    public int getGlobalTxStatusBatchSize() {
+        return globalTxStatusBatchSize;
+    }
+
+    public void setGlobalTxStatusBatchSize(int globalTxStatusBatchSize) {
+        this.globalTxStatusBatchSize = globalTxStatusBatchSize;
+    }
+
+    public long getFallbackPollDelaySeconds() {
+        return fallbackPollDelaySeconds;
+    }
+
+    public void setFallbackPollDelaySeconds(long fallbackPollDelaySeconds) {
+        this.fallbackPollDelaySeconds = fallbackPollDelaySeconds;
+    }
+
+    public int getEventLoopNum() {
+        return eventLoopNum;
+    }
+
+    public void setEventLoopNum(int eventLoopNum) {
+        this.eventLoopNum = eventLoopNum;
+    }
+
+    public int getBranchConfirmThreadNum() {
+        return branchConfirmThreadNum;
+    }
+
+    public void setBranchConfirmThreadNum(int branchConfirmThreadNum) {
+        this.branchConfirmThreadNum = branchConfirmThreadNum;
+    }
+
+    public int getMaxInFlightTransactions() {
+        return maxInFlightTransactions;
+    }
+
+    public void setMaxInFlightTransactions(int maxInFlightTransactions) {
+        this.maxInFlightTransactions = maxInFlightTransactions;
+    }
+
+    public int getAdmissionBacklogSize() {
+        return admissionBacklogSize;
+    }
+
+    public void setAdmissionBacklogSize(int admissionBacklogSize) {
+        this.admissionBacklogSize = admissionBacklogSize;
+    }
+
+    public long getDoneTransactionRetentionSeconds() {
+        return doneTransactionRetentionSeconds;
+    }
+
+    public void setDoneTransactionRetentionSeconds(long doneTransactionRetentionSeconds) {
+        this.doneTransactionRetentionSeconds = doneTransactionRetentionSeconds;
+    }
+
+    public boolean isEarlyAbortEnabled() {
+        return earlyAbortEnabled;
+    }
+
+    public void setEarlyAbortEnabled(boolean earlyAbortEnabled) {
+        this.earlyAbortEnabled = earlyAbortEnabled;
+    }
+
+    public boolean isProofVerifyEnabled() {
+        return proofVerifyEnabled;
+    }
+
+    public void setProofVerifyEnabled(boolean proofVerifyEnabled) {
+        this.proofVerifyEnabled = proofVerifyEnabled;
+    }
+
+    public int getProofVerifyThreadNum() {
+        return proofVerifyThreadNum;
+    }
+
+    public void setProofVerifyThreadNum(int proofVerifyThreadNum) {
+        this.proofVerifyThreadNum = proofVerifyThreadNum;
+    }
+
+    public long getProofPolicyCacheSeconds() {
+        return proofPolicyCacheSeconds;
+    }
+
+    public void setProofPolicyCacheSeconds(long proofPolicyCacheSeconds) {
+        this.proofPolicyCacheSeconds = proofPolicyCacheSeconds;
+    }
+
+    public long getProofCertificateCacheSize() {
+        return proofCertificateCacheSize;
+    }
+
+    public void setProofCertificateCacheSize(long proofCertificateCacheSize) {
+        this.proofCertificateCacheSize = proofCertificateCacheSize;
+    }
+
+    public int getRetryMaxAttempts() {
+        return retryMaxAttempts;
+    }
+
+    public void setRetryMaxAttempts(int retryMaxAttempts) {
+        this.retryMaxAttempts = retryMaxAttempts;
+    }
+
+    public long getRetryInitialBackoffMillis() {
+        return retryInitialBackoffMillis;
+    }
+
+    public void setRetryInitialBackoffMillis(long retryInitialBackoffMillis) {
+        this.retryInitialBackoffMillis = retryInitialBackoffMillis;
+    }
+
+    public long getRetryMaxBackoffMillis() {
+        return retryMaxBackoffMillis;
+    }
+
+    public void setRetryMaxBackoffMillis(long retryMaxBackoffMillis) {
+        this.retryMaxBackoffMillis = retryMaxBackoffMillis;
+    }
+
+    public int getResourceLimiterInitialLimit() {
+        return resourceLimiterInitialLimit;
+    }
+
+    public void setResourceLimiterInitialLimit(int resourceLimiterInitialLimit) {
+        this.resourceLimiterInitialLimit = resourceLimiterInitialLimit;
+    }
+
+    public int getResourceLimiterMaxLimit() {
+        return resourceLimiterMaxLimit;
+    }
+
+    public void setResourceLimiterMaxLimit(int resourceLimiterMaxLimit) {
+        this.resourceLimiterMaxLimit = resourceLimiterMaxLimit;
+    }
+
+    public int getResourceLimiterMaxQueueSize() {
+        return resourceLimiterMaxQueueSize;
+    }
+
+    public void setResourceLimiterMaxQueueSize(int resourceLimiterMaxQueueSize) {
+        this.resourceLimiterMaxQueueSize = resourceLimiterMaxQueueSize;
+    }
+
+    public int getResourceLimiterMaxConfirmQueueSize() {
+        return resourceLimiterMaxConfirmQueueSize;
+    }
+
+    public void setResourceLimiterMaxConfirmQueueSize(int resourceLimiterMaxConfirmQueueSize) {
+        this.resourceLimiterMaxConfirmQueueSize = resourceLimiterMaxConfirmQueueSize;
+    }
+
+    public int getResourceIoThreadNum() {
+        return resourceIoThreadNum;
+    }
+
+    public void setResourceIoThreadNum(int resourceIoThreadNum) {
+        this.resourceIoThreadNum = resourceIoThreadNum;
+    }
+
+    public int getResourceIoQueueSize() {
+        return resourceIoQueueSize;
+    }
+
+    public void setResourceIoQueueSize(int resourceIoQueueSize) {
+        this.resourceIoQueueSize = resourceIoQueueSize;
+    }
+
+    public long getGlobalTxStatusCacheMaxSize() {
+        return globalTxStatusCacheMaxSize;
+    }
+
+    public void setGlobalTxStatusCacheMaxSize(long globalTxStatusCacheMaxSize) {
+        this.globalTxStatusCacheMaxSize = globalTxStatusCacheMaxSize;
+    }
+
+    public long getTransactionProofCacheMaxSize() {
+        return transactionProofCacheMaxSize;
+    }
+
+    public void setTransactionProofCacheMaxSize(long transactionProofCacheMaxSize) {
+        this.transactionProofCacheMaxSize = transactionProofCacheMaxSize;
+    }
+
+    public long getTransactionProofCacheExpireSeconds() {
+        return transactionProofCacheExpireSeconds;
+    }
+
+    public void setTransactionProofCacheExpireSeconds(long transactionProofCacheExpireSeconds) {
+        this.transactionProofCacheExpireSeconds = transactionProofCacheExpireSeconds;
+    }
+
+    public int getProofCatchUpAttempts() {
+        return proofCatchUpAttempts;
+    }
+
+    public void setProofCatchUpAttempts(int proofCatchUpAttempts) {
+        this.proofCatchUpAttempts = proofCatchUpAttempts;
+    }
+
+    public long getProofCatchUpIntervalMillis() {
+        return proofCatchUpIntervalMillis;
+    }
+
+    public void setProofCatchUpIntervalMillis(long proofCatchUpIntervalMillis) {
+        this.proofCatchUpIntervalMillis = proofCatchUpIntervalMillis;
+    }
+
+    public long getTimerTickMillis() {
+        return timerTickMillis;
+    }
+
+    public void setTimerTickMillis(long timerTickMillis) {
+        this.timerTickMillis = timerTickMillis;
+    }
+
+    public int getTimerTicksPerWheel() {
+        return timerTicksPerWheel;
+    }
+
+    public void setTimerTicksPerWheel(int timerTicksPerWheel) {
+        this.timerTicksPerWheel = timerTicksPerWheel;
+    }
+
     public String getMetaNetwork() {
         return metaNetwork;
     }
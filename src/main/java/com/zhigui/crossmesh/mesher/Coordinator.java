@@ -1,5 +1,7 @@
 package com.zhigui.crossmesh.mesher;
 
+import com.zhigui.crossmesh.mesher.resource.BranchTransactionException;
+import com.zhigui.crossmesh.mesher.resource.InvalidProofException;
 import com.zhigui.crossmesh.mesher.resource.Resource;
 import com.zhigui.crossmesh.mesher.resource.ResourceRegistry;
 import org.slf4j.Logger;
@@ -11,87 +13,227 @@ import javax.annotation.PreDestroy;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
+import static com.zhigui.crossmesh.mesher.GlobalTransactionTable.Phase.CONFIRMING;
+import static com.zhigui.crossmesh.mesher.GlobalTransactionTable.Phase.DONE;
+import static com.zhigui.crossmesh.mesher.GlobalTransactionTable.Phase.PREPARING;
+import static com.zhigui.crossmesh.mesher.resource.Priority.CONFIRM;
+import static com.zhigui.crossmesh.mesher.resource.Priority.PREPARE;
 import static com.zhigui.crossmesh.proto.Types.BranchTransaction;
 import static com.zhigui.crossmesh.proto.Types.BranchTransactionPreparedEvent;
 import static com.zhigui.crossmesh.proto.Types.BranchTransactionResponse;
+import static com.zhigui.crossmesh.proto.Types.BranchTransactionResponse.Status.FAILED;
 import static com.zhigui.crossmesh.proto.Types.BranchTransactionResponse.Status.SUCCESS;
+import static com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus;
 import static com.zhigui.crossmesh.proto.Types.Invocation;
 import static com.zhigui.crossmesh.proto.Types.PrimaryTransactionConfirmedEvent;
 import static com.zhigui.crossmesh.proto.Types.PrimaryTransactionPreparedEvent;
 import static com.zhigui.crossmesh.proto.Types.ResourceRegisteredOrUpdatedEvent;
+import static com.zhigui.crossmesh.proto.Types.TransactionID;
 
 @Component
 public class Coordinator {
     private static final Logger LOGGER = LoggerFactory.getLogger(Coordinator.class);
 
+    @Autowired
+    private Config config;
+
     @Autowired
     private ResourceRegistry resourceRegistry;
 
     @Autowired
     private CrossTransactionMonitor crossTransactionMonitor;
 
-    public void handleBranchTransactionPrepared(final BranchTransactionPreparedEvent branchTransactionPreparedEvent) {
-        this.crossTransactionMonitor.monitor(branchTransactionPreparedEvent);
-    }
+    @Autowired
+    private GlobalTransactionTable globalTransactionTable;
+
+    @Autowired
+    private CoordinatorEventLoops eventLoops;
+
+    @Autowired
+    private RetryScheduler retryScheduler;
+
+    @Autowired
+    private AdmissionController admissionController;
+
+    @Autowired
+    private HashedWheelTimer timer;
 
-    public void handlePrimaryTransactionConfirmed(final PrimaryTransactionConfirmedEvent primaryTransactionConfirmedEvent) {
-        commitOrRollbackBranchTransaction(primaryTransactionConfirmedEvent);
+
+    /**
+     * @return a future completing once the event is durably recorded in the monitor log
+     */
+    public CompletableFuture<Void> handleBranchTransactionPrepared(final BranchTransactionPreparedEvent branchTransactionPreparedEvent) {
+        return this.crossTransactionMonitor.monitor(branchTransactionPreparedEvent);
     }
 
-    public void handlePrimaryTransactionPrepared(PrimaryTransactionPreparedEvent primaryTransactionPreparedEvent) {
-        prepareBranchTransaction(primaryTransactionPreparedEvent).thenAccept(completableFutures -> commitOrRollbackGlobalTransaction(primaryTransactionPreparedEvent, completableFutures)).exceptionally(throwable -> {
-            LOGGER.error("prepare branch transactions error", throwable);
-            return null;
+    /**
+     * @return a future completing once the branch confirms are submitted, or right away for a duplicate event
+     */
+    public CompletableFuture<Void> handlePrimaryTransactionConfirmed(final PrimaryTransactionConfirmedEvent primaryTransactionConfirmedEvent) {
+        TransactionID primaryConfirmTxId = primaryTransactionConfirmedEvent.getPrimaryConfirmTxId();
+        // run on the loop owning the global transaction, events of older contracts only carry the confirm tx id
+        TransactionID xid = primaryTransactionConfirmedEvent.hasPrimaryPrepareTxId() ? primaryTransactionConfirmedEvent.getPrimaryPrepareTxId() : primaryConfirmTxId;
+        CompletableFuture<Void> handled = new CompletableFuture<>();
+        eventLoops.execute(xid, () -> {
+            if (!globalTransactionTable.begin(primaryConfirmTxId, CONFIRMING)) {
+                LOGGER.info("primary confirm tx {} is already handled, ignore duplicate event", primaryConfirmTxId.getId());
+                handled.complete(null);
+                return;
+            }
+            if (primaryTransactionConfirmedEvent.hasPrimaryPrepareTxId()) {
+                crossTransactionMonitor.resolve(GlobalTransactionStatus.newBuilder()
+                    .setPrimaryPrepareTxId(primaryTransactionConfirmedEvent.getPrimaryPrepareTxId())
+                    .setStatus(primaryTransactionConfirmedEvent.getStatus())
+                    .setPrimaryConfirmTxId(primaryConfirmTxId)
+                    .build());
+            }
+            commitOrRollbackBranchTransaction(primaryTransactionConfirmedEvent).whenCompleteAsync((v, throwable) -> {
+                if (throwable != null) {
+                    LOGGER.error("commit or rollback branch transaction error", throwable);
+                    globalTransactionTable.abandon(primaryConfirmTxId);
+                    handled.completeExceptionally(throwable);
+                    return;
+                }
+                globalTransactionTable.advance(primaryConfirmTxId, CONFIRMING, DONE);
+                handled.complete(null);
+            }, eventLoops.executor(xid));
         });
+        return handled;
+    }
+
+    /**
+     * Blocks the calling listener while the mesher is saturated.
+     *
+     * @return a future completing once the global transaction is driven, failed if the listener was
+     * interrupted before the event was admitted
+     */
+    public CompletableFuture<Void> handlePrimaryTransactionPrepared(PrimaryTransactionPreparedEvent primaryTransactionPreparedEvent) {
+        return admissionController.admit(() -> drivePrimaryTransactionPrepared(primaryTransactionPreparedEvent));
     }
 
     public void handleResourceRegisteredEvent(ResourceRegisteredOrUpdatedEvent resourceRegisteredEvent) {
         this.resourceRegistry.handleResourceRegisteredEvent(resourceRegisteredEvent);
     }
 
-    private void commitOrRollbackGlobalTransaction(PrimaryTransactionPreparedEvent primaryTxPreparedEvent, List<CompletableFuture<BranchTransactionResponse>> completableFutures) {
+    private CompletableFuture<BranchTransactionResponse> drivePrimaryTransactionPrepared(PrimaryTransactionPreparedEvent primaryTransactionPreparedEvent) {
+        TransactionID primaryPrepareTxId = primaryTransactionPreparedEvent.getPrimaryPrepareTxId();
+        return CompletableFuture.supplyAsync(() -> globalTransactionTable.begin(primaryPrepareTxId, PREPARING), eventLoops.executor(primaryPrepareTxId))
+            .thenCompose(begun -> {
+                if (!begun) {
+                    LOGGER.info("global transaction {} is already handled, ignore duplicate event", primaryPrepareTxId.getId());
+                    return CompletableFuture.<BranchTransactionResponse>completedFuture(null);
+                }
+                return prepareBranchTransaction(primaryTransactionPreparedEvent)
+                    .thenCompose(completableFutures -> commitOrRollbackGlobalTransaction(primaryTransactionPreparedEvent, completableFutures))
+                    .whenCompleteAsync((branchTransactionResponse, throwable) -> {
+                        if (throwable != null) {
+                            LOGGER.error("prepare branch transactions or submit primary confirm tx error", throwable);
+                            globalTransactionTable.abandon(primaryPrepareTxId);
+                            return;
+                        }
+                        globalTransactionTable.advance(primaryPrepareTxId, CONFIRMING, DONE);
+                    }, eventLoops.executor(primaryPrepareTxId));
+            });
+    }
+
+    private CompletableFuture<BranchTransactionResponse> commitOrRollbackGlobalTransaction(PrimaryTransactionPreparedEvent primaryTxPreparedEvent, List<CompletableFuture<BranchTransactionResponse>> completableFutures) {
+        List<CompletableFuture<BranchTransactionResponse>> branchTxResFutures = new ArrayList<>(completableFutures.size());
+        for (int i = 0; i < completableFutures.size(); i++) {
+            BranchTransaction branchPrepareTx = primaryTxPreparedEvent.getBranchPrepareTxs(i);
+            branchTxResFutures.add(completableFutures.get(i).exceptionally(throwable -> {
+                LOGGER.error("get branch transaction response failed", throwable);
+                Throwable cause = BranchTransactionException.unwrap(throwable);
+                if (cause instanceof BranchTransactionException) {
+                    return ((BranchTransactionException) cause).getResponse();
+                }
+                return failedResponse(branchPrepareTx);
+            }));
+        }
+
+        CompletableFuture<Void> allBranchTxResFuture = CompletableFuture.allOf(branchTxResFutures.toArray(new CompletableFuture[0]));
+        CompletableFuture<?> readyFuture = allBranchTxResFuture;
+        if (config.isEarlyAbortEnabled()) {
+            // the global transaction is doomed by the first failed branch, so do not wait for the slower ones
+            CompletableFuture<Void> firstFailureFuture = new CompletableFuture<>();
+            branchTxResFutures.forEach(future -> future.thenAccept(branchTxRes -> {
+                if (branchTxRes.getStatus() != SUCCESS) {
+                    firstFailureFuture.complete(null);
+                }
+            }));
+            readyFuture = CompletableFuture.anyOf(allBranchTxResFuture, firstFailureFuture);
+        }
+
+        return readyFuture
+            .thenApplyAsync(v -> {
+                if (!allBranchTxResFuture.isDone()) {
+                    LOGGER.info("branch transaction failed, abort global transaction {} early", primaryTxPreparedEvent.getPrimaryPrepareTxId().getId());
+                    completableFutures.forEach(future -> future.cancel(true));
+                }
+                List<BranchTransactionResponse> branchTxResList = new ArrayList<>(branchTxResFutures.size());
+                for (int i = 0; i < branchTxResFutures.size(); i++) {
+                    branchTxResList.add(branchTxResFutures.get(i).getNow(failedResponse(primaryTxPreparedEvent.getBranchPrepareTxs(i))));
+                }
+                globalTransactionTable.advance(primaryTxPreparedEvent.getPrimaryPrepareTxId(), PREPARING, CONFIRMING);
+                return buildPrimaryConfirmTransaction(primaryTxPreparedEvent, branchTxResList);
+            }, eventLoops.executor(primaryTxPreparedEvent.getPrimaryPrepareTxId()))
+            .thenCompose(primaryConfirmTx -> retryScheduler.execute("primary-confirm",
+                () -> resourceRegistry.getResource(primaryConfirmTx.getTxId().getUri()).submitBranchTransaction(primaryConfirmTx, Deadline.NONE, CONFIRM)));
+    }
+
+    private BranchTransaction buildPrimaryConfirmTransaction(PrimaryTransactionPreparedEvent primaryTxPreparedEvent, List<BranchTransactionResponse> branchTxResList) {
         BranchTransaction.Builder builder = primaryTxPreparedEvent.toBuilder().getPrimaryConfirmTxBuilder();
         Invocation.Builder invBuilder = builder.getInvocationBuilder();
         for (int i = 0; i < primaryTxPreparedEvent.getBranchPrepareTxsList().size(); i++) {
+            BranchTransactionResponse branchTxRes = branchTxResList.get(i);
             invBuilder
                 .addArgs(primaryTxPreparedEvent.getBranchPrepareTxs(i).getTxId().getUri().getNetwork())
-                .addArgs(primaryTxPreparedEvent.getBranchPrepareTxs(i).getTxId().getUri().getChain());
-            CompletableFuture<BranchTransactionResponse> branchTxResCompletableFuture = completableFutures.get(i);
-            try {
-                BranchTransactionResponse branchTxRes = branchTxResCompletableFuture.get();
-                invBuilder.addArgs(branchTxRes.getTxId().getId());
-                if (branchTxRes.getStatus() == SUCCESS) {
-                    invBuilder.addArgs(branchTxRes.getProof());
-                } else {
-                    invBuilder.addArgs("");
-                }
-            } catch (InterruptedException | ExecutionException e) {
-                LOGGER.error("get branch transaction response failed", e);
+                .addArgs(primaryTxPreparedEvent.getBranchPrepareTxs(i).getTxId().getUri().getChain())
+                .addArgs(branchTxRes.getTxId().getId());
+            if (branchTxRes.getStatus() == SUCCESS) {
+                invBuilder.addArgs(branchTxRes.getProof());
+            } else {
                 invBuilder.addArgs("");
-                if (e instanceof InterruptedException) {
-                    Thread.currentThread().interrupt();
-                }
             }
         }
+        return builder.build();
+    }
 
-        BranchTransaction primaryConfirmTx = builder.build();
-        Resource resource = resourceRegistry.getResource(primaryConfirmTx.getTxId().getUri());
-        resource.submitBranchTransaction(primaryConfirmTx).whenComplete((branchTransactionResponse, throwable) -> {
-            if (throwable != null) {
-                LOGGER.error("submit primary commit tx failed", throwable);
-            }
-        });
+    private static BranchTransactionResponse failedResponse(BranchTransaction branchTx) {
+        return BranchTransactionResponse.newBuilder()
+            .setTxId(branchTx.getTxId())
+            .setStatus(FAILED)
+            .setProof("")
+            .build();
     }
 
     private CompletableFuture<List<CompletableFuture<BranchTransactionResponse>>> prepareBranchTransaction(PrimaryTransactionPreparedEvent primaryTxPreparedEvent) {
-        return resourceRegistry.getResource(primaryTxPreparedEvent.getPrimaryPrepareTxId().getUri())
-            .getProofForTransaction(primaryTxPreparedEvent.getPrimaryPrepareTxId().getId())
-            .thenApply(proof -> {
-                LOGGER.info(proof);
-                LOGGER.info("abc {}", primaryTxPreparedEvent);
+        Deadline deadline = Deadline.of(primaryTxPreparedEvent.getTtlTime());
+        // looked up on every attempt, a registry update replaces and closes the resource
+        CompletableFuture<String> proofFuture = retryScheduler.execute("primary-prepare-proof",
+            () -> verifiedProof(resourceRegistry.getResource(primaryTxPreparedEvent.getPrimaryPrepareTxId().getUri()), primaryTxPreparedEvent.getPrimaryPrepareTxId().getId()));
+        Executor eventLoop = eventLoops.executor(primaryTxPreparedEvent.getPrimaryPrepareTxId());
+        return deadline.bind(proofFuture, timer, eventLoop)
+            .handle((proof, throwable) -> {
                 List<CompletableFuture<BranchTransactionResponse>> futureResList = new ArrayList<>();
+                if (throwable != null) {
+                    boolean invalidProof = BranchTransactionException.unwrap(throwable) instanceof InvalidProofException;
+                    if (!deadline.isExpired() && !invalidProof) {
+                        throw throwable instanceof CompletionException ? (CompletionException) throwable : new CompletionException(throwable);
+                    }
+                    // no branch can be prepared in time or with this proof, go straight to the rollback path
+                    LOGGER.warn("global transaction {} {} before branch prepare", primaryTxPreparedEvent.getPrimaryPrepareTxId().getId(),
+                        invalidProof ? "has an invalid proof" : "expired");
+                    for (int i = 0; i < primaryTxPreparedEvent.getBranchPrepareTxsList().size(); i++) {
+                        CompletableFuture<BranchTransactionResponse> expired = new CompletableFuture<>();
+                        expired.completeExceptionally(throwable);
+                        futureResList.add(expired);
+                    }
+                    return futureResList;
+                }
+
                 for (int i = 0; i < primaryTxPreparedEvent.getBranchPrepareTxsList().size(); i++) {
                     BranchTransaction.Builder branchPrepareTxBuilder = primaryTxPreparedEvent.toBuilder().getBranchPrepareTxsBuilder(i);
                     branchPrepareTxBuilder.getInvocationBuilder()
@@ -102,32 +244,64 @@ public class Coordinator {
                         .addArgs(primaryTxPreparedEvent.getPrimaryPrepareTxId().getId())
                         .addArgs(proof);
                     BranchTransaction branchPrepareTx = branchPrepareTxBuilder.build();
-                    CompletableFuture<BranchTransactionResponse> response = resourceRegistry.getResource(branchPrepareTx.getTxId().getUri()).submitBranchTransaction(branchPrepareTx);
-                    futureResList.add(response);
+                    CompletableFuture<BranchTransactionResponse> response = resourceRegistry.getResource(branchPrepareTx.getTxId().getUri()).submitBranchTransaction(branchPrepareTx, deadline, PREPARE);
+                    futureResList.add(deadline.bind(response, timer, eventLoop));
                 }
                 return futureResList;
             });
     }
 
-    private void commitOrRollbackBranchTransaction(PrimaryTransactionConfirmedEvent primaryTransactionConfirmedEvent) {
-        resourceRegistry.getResource(primaryTransactionConfirmedEvent.getPrimaryConfirmTxId().getUri())
-            .getProofForTransaction(primaryTransactionConfirmedEvent.getPrimaryConfirmTxId().getId())
-            .thenAccept(proof -> primaryTransactionConfirmedEvent.toBuilder().getBranchConfirmTxsBuilderList()
-                .parallelStream()
-                .forEach(branchTransactionBuilder -> {
-                    branchTransactionBuilder.getInvocationBuilder().addArgs(proof);
-                    BranchTransaction branchTransaction = branchTransactionBuilder.build();
-                    resourceRegistry.getResource(branchTransaction.getTxId().getUri()).submitBranchTransaction(branchTransaction);
-                })).exceptionally(throwable -> {
-            LOGGER.error("commit or rollback branch transaction error", throwable);
-            return null;
-        });
+    private CompletableFuture<Void> commitOrRollbackBranchTransaction(PrimaryTransactionConfirmedEvent primaryTransactionConfirmedEvent) {
+        String primaryConfirmTxId = primaryTransactionConfirmedEvent.getPrimaryConfirmTxId().getId();
+        // the primary is final, a proof the local check rejects must not keep its branches unconfirmed
+        return retryScheduler.execute("primary-confirm-proof",
+            () -> resourceRegistry.getResource(primaryTransactionConfirmedEvent.getPrimaryConfirmTxId().getUri()).getProofForTransaction(primaryConfirmTxId))
+            .thenCompose(proof -> {
+                List<CompletableFuture<Boolean>> branchTxResFutures = new ArrayList<>();
+                // submissions run on the branch confirm pool of the resource runtime, so the fan-out only collects their futures
+                primaryTransactionConfirmedEvent.getBranchConfirmTxsList().forEach(branchConfirmTx -> branchTxResFutures.add(
+                    retryScheduler.execute("branch-confirm", () -> submitBranchConfirmTransaction(branchConfirmTx, proof))
+                    .handle((branchTransactionResponse, throwable) -> {
+                        if (throwable != null) {
+                            LOGGER.error("submit branch confirm tx failed", throwable);
+                            return false;
+                        }
+                        return branchTransactionResponse.getStatus() == SUCCESS;
+                    })));
+                return CompletableFuture.allOf(branchTxResFutures.toArray(new CompletableFuture[0]))
+                    .thenAccept(v -> {
+                        long succeeded = branchTxResFutures.stream().filter(CompletableFuture::join).count();
+                        LOGGER.info("branch confirm txs of primary confirm tx {} finished, {}/{} succeeded", primaryConfirmTxId, succeeded, branchTxResFutures.size());
+                    });
+            });
+    }
+
+    /**
+     * Fetch the proof of a primary transaction and check it locally, so an invalid proof fails here
+     * rather than on every branch chain it would be submitted to. Only used before the branches are
+     * prepared, while rolling back is still an option.
+     */
+    private static CompletableFuture<String> verifiedProof(Resource resource, String txId) {
+        return resource.getProofForTransaction(txId)
+            .thenCompose(proof -> resource.verifyProof(proof).thenApply(valid -> {
+                if (!valid) {
+                    throw new InvalidProofException(txId);
+                }
+                return proof;
+            }));
+    }
 
+    private CompletableFuture<BranchTransactionResponse> submitBranchConfirmTransaction(BranchTransaction branchConfirmTx, String proof) {
+        BranchTransaction.Builder builder = branchConfirmTx.toBuilder();
+        builder.getInvocationBuilder().addArgs(proof);
+        BranchTransaction branchTransaction = builder.build();
+        return resourceRegistry.getResource(branchTransaction.getTxId().getUri()).submitBranchTransaction(branchTransaction, Deadline.NONE, CONFIRM);
     }
 
     @PreDestroy
     public void stop() {
         this.crossTransactionMonitor.stop();
+        this.eventLoops.stop();
     }
 
     public ResourceRegistry getResourceRegistry() {
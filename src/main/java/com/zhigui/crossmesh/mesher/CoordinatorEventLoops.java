@@ -0,0 +1,52 @@
+package com.zhigui.crossmesh.mesher;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.zhigui.crossmesh.proto.Types.TransactionID;
+
+/**
+ * Single-threaded event loops, each owning a hash partition of global transactions. Every state
+ * transition of one transaction runs on the same loop, so no locking is needed between the steps,
+ * and throughput scales by raising mesher.coordinator.event-loop-num.
+ */
+@Component
+public class CoordinatorEventLoops {
+
+    private final ExecutorService[] eventLoops;
+
+    public CoordinatorEventLoops(Config config) {
+        int eventLoopNum = config.getEventLoopNum() > 0 ? config.getEventLoopNum() : Runtime.getRuntime().availableProcessors();
+        this.eventLoops = new ExecutorService[eventLoopNum];
+        AtomicInteger index = new AtomicInteger();
+        for (int i = 0; i < eventLoopNum; i++) {
+            this.eventLoops[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "coordinator-event-loop-" + index.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public Executor executor(TransactionID txId) {
+        return this.eventLoops[Math.floorMod(txId.hashCode(), this.eventLoops.length)];
+    }
+
+    public void execute(TransactionID txId, Runnable task) {
+        executor(txId).execute(task);
+    }
+
+    public int size() {
+        return this.eventLoops.length;
+    }
+
+    public void stop() {
+        for (ExecutorService eventLoop : this.eventLoops) {
+            eventLoop.shutdown();
+        }
+    }
+}
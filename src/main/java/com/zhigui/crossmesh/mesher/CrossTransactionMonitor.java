@@ -6,14 +6,36 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static com.zhigui.crossmesh.mesher.resource.Priority.CONFIRM;
 import static com.zhigui.crossmesh.proto.Types.BranchTransaction;
 import static com.zhigui.crossmesh.proto.Types.BranchTransactionPreparedEvent;
+import static com.zhigui.crossmesh.proto.Types.BranchTransactionResponse;
+import static com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus;
+import static com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusType.PRIMARY_TRANSACTION_PREPARED;
+import static com.zhigui.crossmesh.proto.Types.Invocation;
+import static com.zhigui.crossmesh.proto.Types.TransactionID;
+import static com.zhigui.crossmesh.proto.Types.URI;
 import static java.lang.String.valueOf;
 
 @Component
@@ -22,51 +44,522 @@ public class CrossTransactionMonitor {
 
     private final ResourceRegistry resourceRegistry;
 
-    private final ScheduledExecutorService executorService;
+    private final ExecutorService executorService;
 
-    private final ConcurrentHashMap<String, ScheduledFuture<?>> transactionFutures;
+    private final HashedWheelTimer timer;
 
-    public CrossTransactionMonitor(Config config, ResourceRegistry resourceRegistry) {
-        this.executorService = Executors.newScheduledThreadPool(config.getCrossMonitorThreadNum());
+    private final ConcurrentHashMap<URI, StatusPoller> pollers;
+
+    private final CoordinatorEventLoops eventLoops;
+
+    private final RetryScheduler retryScheduler;
+
+    private final MonitorLog monitorLog;
+
+    private final MonitorOverflow overflow;
+
+    private final long memoryBudgetBytes;
+
+    private final AtomicLong memoryBytes;
+
+    private final AtomicBoolean spilling;
+
+    /**
+     * Events being appended to the monitor log, not yet added to their poller.
+     */
+    private final Set<BranchTransactionPreparedEvent> appending;
+
+    private final String statusBatchFunc;
+
+    private final int statusBatchSize;
+
+    private final long fallbackPollDelayMillis;
+
+    private final long minPollDelayMillis;
+
+    private final long maxPollDelayMillis;
+
+    private volatile boolean running;
+
+    public CrossTransactionMonitor(Config config, ResourceRegistry resourceRegistry, CoordinatorEventLoops eventLoops, RetryScheduler retryScheduler, HashedWheelTimer timer, MonitorLog monitorLog, MonitorOverflow overflow) {
+        this.executorService = Executors.newFixedThreadPool(config.getCrossMonitorThreadNum());
+        this.timer = timer;
         this.resourceRegistry = resourceRegistry;
-        transactionFutures = new ConcurrentHashMap<>();
+        this.eventLoops = eventLoops;
+        this.retryScheduler = retryScheduler;
+        this.monitorLog = monitorLog;
+        this.overflow = overflow;
+        this.memoryBudgetBytes = config.getPendingMemoryBudgetBytes();
+        this.memoryBytes = new AtomicLong();
+        this.spilling = new AtomicBoolean();
+        this.appending = ConcurrentHashMap.newKeySet();
+        this.statusBatchFunc = config.getGlobalTxStatusBatchFunc();
+        this.statusBatchSize = Math.max(1, config.getGlobalTxStatusBatchSize());
+        this.fallbackPollDelayMillis = TimeUnit.SECONDS.toMillis(config.getFallbackPollDelaySeconds());
+        this.minPollDelayMillis = Math.max(1, config.getMinPollDelayMillis());
+        this.maxPollDelayMillis = Math.max(this.minPollDelayMillis, config.getMaxPollDelayMillis());
+        pollers = new ConcurrentHashMap<>();
+        running = true;
+    }
+
+    /**
+     * Resume monitoring the branches that were still pending when the mesher stopped.
+     */
+    @PostConstruct
+    public void recover() {
+        this.monitorLog.recover(this::pendingEvents).forEach(this::add);
     }
 
     public void stop() {
+        this.running = false;
+        this.pollers.values().forEach(StatusPoller::stop);
         this.executorService.shutdown();
+        this.monitorLog.close();
+        this.overflow.close();
     }
 
-    public void monitor(BranchTransactionPreparedEvent preparedEvent) {
-        this.transactionFutures.computeIfAbsent(preparedEvent.getPrimaryPrepareTxId().getId(), s -> executorService.scheduleWithFixedDelay(() -> {
-            Resource resource = resourceRegistry.getResource(preparedEvent.getPrimaryPrepareTxId().getUri());
-            resource
-                .evaluateGlobalTransaction(preparedEvent.getGlobalTxStatusQuery())
-                .whenComplete((globalTransactionStatus, throwable) -> {
-                    if (throwable != null) {
-                        LOGGER.error("evaluate global transaction failed", throwable);
-                        return;
-                    }
-                    resource.getProofForTransaction(globalTransactionStatus.getPrimaryConfirmTxId().getId()).whenComplete((proof, throwable1) -> {
-                        Resource branchTxResource = resourceRegistry.getResource(preparedEvent.getConfirmTx().getTxId().getUri());
-                        BranchTransaction.Builder builder = preparedEvent.toBuilder().getConfirmTxBuilder();
-                        builder.getInvocationBuilder()
-                            .addArgs(valueOf(globalTransactionStatus.getStatus().getNumber()))
-                            .addArgs(globalTransactionStatus.getPrimaryConfirmTxId().getUri().getNetwork())
-                            .addArgs(globalTransactionStatus.getPrimaryConfirmTxId().getUri().getChain())
-                            .addArgs(globalTransactionStatus.getPrimaryConfirmTxId().getId())
-                            .addArgs(proof);
-                        BranchTransaction confirmTx = builder.build();
-                        branchTxResource.submitBranchTransaction(confirmTx).whenComplete((branchTransactionResponse, e) -> {
-                            if (e != null) {
-                                LOGGER.error("submit branch tx failed", e);
-                            }
-                            transactionFutures.remove(preparedEvent.getPrimaryPrepareTxId().getId()).cancel(true);
-                        });
-                    });
+    /**
+     * Watch the primary of a prepared branch once the event is durably logged. An event that could
+     * not be logged is still watched, it is written out with the next compaction.
+     *
+     * @return a future completing once the event is logged and watched
+     */
+    public CompletableFuture<Void> monitor(BranchTransactionPreparedEvent preparedEvent) {
+        this.appending.add(preparedEvent);
+        return this.monitorLog.append(preparedEvent).whenComplete((v, throwable) -> {
+            if (throwable != null) {
+                LOGGER.error("log branch prepared event of {} failed", preparedEvent.getPrimaryPrepareTxId().getId(), throwable);
+            }
+            add(preparedEvent);
+            this.appending.remove(preparedEvent);
+        });
+    }
 
+    private void add(BranchTransactionPreparedEvent preparedEvent) {
+        this.pollers.computeIfAbsent(preparedEvent.getPrimaryPrepareTxId().getUri(), StatusPoller::new).add(preparedEvent);
+        if (this.memoryBytes.get() > this.memoryBudgetBytes && this.spilling.compareAndSet(false, true)) {
+            this.executorService.execute(this::spill);
+        }
+    }
+
+    private Collection<BranchTransactionPreparedEvent> pendingEvents() {
+        List<BranchTransactionPreparedEvent> events = new ArrayList<>(this.appending);
+        this.pollers.values().forEach(poller -> poller.pendingTransactions.keySet().forEach(xid -> {
+            try {
+                events.addAll(poller.unconfirmed(xid));
+            } catch (IOException e) {
+                throw new UncheckedIOException("load spilled branch transactions failed", e);
+            }
+        }));
+        return events;
+    }
+
+    /**
+     * Move the branches of the least urgent pending transactions, the ones polled last, to the
+     * overflow file until the heap usage falls well below the budget.
+     */
+    private void spill() {
+        try {
+            List<Map.Entry<StatusPoller, String>> candidates = new ArrayList<>();
+            Map<String, Long> nextPollMillis = new HashMap<>();
+            this.pollers.values().forEach(poller -> poller.pendingTransactions.forEach((xid, pendingTransaction) -> {
+                if (!pendingTransaction.preparedEvents.isEmpty()) {
+                    candidates.add(new AbstractMap.SimpleImmutableEntry<>(poller, xid));
+                    nextPollMillis.put(xid, pendingTransaction.nextPollMillis);
+                }
+            }));
+            candidates.sort(Comparator.comparingLong((Map.Entry<StatusPoller, String> candidate) -> nextPollMillis.get(candidate.getValue())).reversed());
+            long target = this.memoryBudgetBytes / 10 * 8;
+            for (Map.Entry<StatusPoller, String> candidate : candidates) {
+                if (this.memoryBytes.get() <= target) {
+                    break;
+                }
+                candidate.getKey().pendingTransactions.computeIfPresent(candidate.getValue(), (xid, pendingTransaction) -> {
+                    pendingTransaction.spill();
+                    return pendingTransaction;
                 });
-        }, 2, 1, TimeUnit.SECONDS));
+            }
+            LOGGER.info("pending branch transactions spilled, {} bytes on heap, {} bytes in overflow", this.memoryBytes.get(), this.overflow.size());
+        } catch (RuntimeException e) {
+            LOGGER.error("spill pending branch transactions failed", e);
+        } finally {
+            this.spilling.set(false);
+        }
+    }
+
+    /**
+     * Resolve the branches waiting on a global transaction whose outcome arrived as a contract event.
+     */
+    public void resolve(GlobalTransactionStatus globalTransactionStatus) {
+        URI uri = globalTransactionStatus.getPrimaryPrepareTxId().getUri();
+        StatusPoller poller = this.pollers.get(uri);
+        Resource resource = resourceRegistry.getResource(uri);
+        if (poller != null && resource != null) {
+            poller.resolve(resource, globalTransactionStatus);
+        }
+    }
+
+    /**
+     * Fetch the proof of the primary confirm once and submit the confirm of every branch waiting on it.
+     * The transaction stays pending until all of them succeed, a failed round is retried after a backoff.
+     */
+    private void confirmBranchTransactions(StatusPoller poller, PendingTransaction pendingTransaction, Resource primaryResource, List<BranchTransactionPreparedEvent> preparedEvents,
+                                           GlobalTransactionStatus globalTransactionStatus) {
+        String primaryConfirmTxId = globalTransactionStatus.getPrimaryConfirmTxId().getId();
+        // not checked locally, the primary is final and a proof the check rejects would block its branches forever
+        primaryResource.getProofForTransaction(primaryConfirmTxId)
+            .whenComplete((proof, throwable) -> {
+                if (throwable != null) {
+                    LOGGER.error("get primary confirm proof of {} failed, retry later", globalTransactionStatus.getPrimaryPrepareTxId().getId(), throwable);
+                    poller.retry(pendingTransaction);
+                    return;
+                }
+                List<CompletableFuture<Void>> confirmFutures = new ArrayList<>(preparedEvents.size());
+                preparedEvents.forEach(preparedEvent -> confirmFutures.add(confirmBranchTransaction(pendingTransaction, preparedEvent, globalTransactionStatus, proof)));
+                CompletableFuture.allOf(confirmFutures.toArray(new CompletableFuture[0]))
+                    .whenComplete((v, t) -> poller.finish(globalTransactionStatus.getPrimaryPrepareTxId(), pendingTransaction));
+            });
+    }
+
+    /**
+     * @return a future completing once the confirm is submitted or has failed, successful branches are marked confirmed
+     */
+    private CompletableFuture<Void> confirmBranchTransaction(PendingTransaction pendingTransaction, BranchTransactionPreparedEvent preparedEvent,
+                                                             GlobalTransactionStatus globalTransactionStatus, String proof) {
+        BranchTransaction.Builder builder = preparedEvent.toBuilder().getConfirmTxBuilder();
+        builder.getInvocationBuilder()
+            .addArgs(valueOf(globalTransactionStatus.getStatus().getNumber()))
+            .addArgs(globalTransactionStatus.getPrimaryConfirmTxId().getUri().getNetwork())
+            .addArgs(globalTransactionStatus.getPrimaryConfirmTxId().getUri().getChain())
+            .addArgs(globalTransactionStatus.getPrimaryConfirmTxId().getId())
+            .addArgs(proof);
+        BranchTransaction confirmTx = builder.build();
+        return retryScheduler.execute("monitor-branch-confirm", () -> submitBranchConfirmTransaction(confirmTx))
+            .handle((branchTransactionResponse, throwable) -> {
+                if (throwable != null) {
+                    LOGGER.error("submit branch tx failed", throwable);
+                } else if (branchTransactionResponse.getStatus() != BranchTransactionResponse.Status.SUCCESS) {
+                    LOGGER.error("branch confirm tx {} failed", branchTransactionResponse.getTxId().getId());
+                } else {
+                    pendingTransaction.confirmed.add(preparedEvent);
+                }
+                return null;
+            });
+    }
+
+    /**
+     * Look the resource up on every attempt, a registry update replaces and closes the one a retry
+     * would otherwise keep submitting to.
+     */
+    private CompletableFuture<BranchTransactionResponse> submitBranchConfirmTransaction(BranchTransaction confirmTx) {
+        Resource branchTxResource = resourceRegistry.getResource(confirmTx.getTxId().getUri());
+        if (branchTxResource == null) {
+            CompletableFuture<BranchTransactionResponse> notFound = new CompletableFuture<>();
+            notFound.completeExceptionally(new IllegalStateException("resource of branch tx " + confirmTx.getTxId().getId() + " not found"));
+            return notFound;
+        }
+        return branchTxResource.submitBranchTransaction(confirmTx, Deadline.NONE, CONFIRM);
+    }
+
+    private static long sizeOf(List<BranchTransactionPreparedEvent> events) {
+        return events.stream().mapToLong(BranchTransactionPreparedEvent::getSerializedSize).sum();
+    }
 
+    /**
+     * A primary global transaction and every branch waiting on its outcome. The branches are only
+     * added, spilled or read while the entry is being computed in the pending map. Spilled branches live
+     * in the overflow file and are paged back in when the transaction is resolved. Once resolved the
+     * entry stays until every branch is confirmed, branches confirmed by an earlier round are skipped.
+     */
+    private final class PendingTransaction {
+        private final Invocation globalTxStatusQuery;
+
+        private final List<BranchTransactionPreparedEvent> preparedEvents;
+
+        private final long firstPollMillis;
+
+        private volatile long nextPollMillis;
+
+        private volatile long pollDelayMillis;
+
+        private volatile MonitorOverflow.Spilled spilled;
+
+        private final AtomicBoolean resolving;
+
+        private final Set<BranchTransactionPreparedEvent> confirmed;
+
+        PendingTransaction(Invocation globalTxStatusQuery, long nextPollMillis) {
+            this.globalTxStatusQuery = globalTxStatusQuery;
+            this.preparedEvents = new CopyOnWriteArrayList<>();
+            this.resolving = new AtomicBoolean();
+            this.confirmed = ConcurrentHashMap.newKeySet();
+            this.firstPollMillis = nextPollMillis;
+            this.nextPollMillis = nextPollMillis;
+            this.pollDelayMillis = minPollDelayMillis;
+        }
+
+        /**
+         * Schedule the next poll and double the delay of the one after it, up to the cap.
+         */
+        void backoff(long now) {
+            this.nextPollMillis = now + this.pollDelayMillis;
+            this.pollDelayMillis = Math.min(this.pollDelayMillis * 2, maxPollDelayMillis);
+        }
+
+        void spill() {
+            try {
+                List<BranchTransactionPreparedEvent> events = load();
+                MonitorOverflow.Spilled previous = this.spilled;
+                this.spilled = overflow.spill(events);
+                if (previous != null) {
+                    overflow.release(previous);
+                }
+                memoryBytes.addAndGet(-sizeOf(this.preparedEvents));
+                this.preparedEvents.clear();
+            } catch (IOException e) {
+                LOGGER.error("spill branch transactions failed", e);
+            }
+        }
+
+        List<BranchTransactionPreparedEvent> load() throws IOException {
+            Set<BranchTransactionPreparedEvent> events = new LinkedHashSet<>();
+            MonitorOverflow.Spilled spilled = this.spilled;
+            if (spilled != null) {
+                events.addAll(overflow.load(spilled));
+            }
+            events.addAll(this.preparedEvents);
+            return new ArrayList<>(events);
+        }
+
+        List<BranchTransactionPreparedEvent> unconfirmed() throws IOException {
+            List<BranchTransactionPreparedEvent> events = load();
+            events.removeAll(this.confirmed);
+            return events;
+        }
+
+        /**
+         * Poll again right away, the new event may carry the outcome of the primary. A transaction
+         * still waiting out the fallback delay of a listened chain keeps waiting for its event.
+         */
+        void reset(long now) {
+            if (now >= this.firstPollMillis && this.pollDelayMillis > minPollDelayMillis) {
+                this.pollDelayMillis = minPollDelayMillis;
+                this.nextPollMillis = now;
+            }
+        }
     }
 
+    /**
+     * Polls the status of every pending global transaction of one primary chain with batched queries,
+     * so the query load grows with the number of chains rather than the number of transactions.
+     * Primaries on chains the mesher listens to are normally resolved by their confirmed event, and
+     * are only polled as a fallback once they have been pending for a while.
+     * <p>
+     * Each transaction is polled quickly at first and then backs off exponentially, the backoff is
+     * reset whenever the contract of its status query emits an event on the primary chain.
+     * <p>
+     * A batch query carries nothing but the xids, sent to the contract of each transaction's status
+     * query with mesher.coordinator.global-tx-status-batch-func. The function and any further args of
+     * a transaction's own status query are not used, so the batch function of a contract has to answer
+     * for every global transaction the contract tracks.
+     */
+    private final class StatusPoller {
+        private final URI uri;
+
+        private final ConcurrentHashMap<String, PendingTransaction> pendingTransactions;
+
+        private final AtomicBoolean polling;
+
+        private volatile HashedWheelTimer.Timeout timeout;
+
+        private final Map<String, Long> lastEventHeights;
+
+        StatusPoller(URI uri) {
+            this.uri = uri;
+            this.pendingTransactions = new ConcurrentHashMap<>();
+            this.polling = new AtomicBoolean();
+            this.lastEventHeights = new HashMap<>();
+            scheduleNextTick();
+        }
+
+        void add(BranchTransactionPreparedEvent preparedEvent) {
+            Resource resource = resourceRegistry.getResource(this.uri);
+            long nextPollMillis = System.currentTimeMillis();
+            if (resource != null && resource.isListened()) {
+                nextPollMillis += fallbackPollDelayMillis;
+            }
+            long firstPollMillis = nextPollMillis;
+            this.pendingTransactions.compute(preparedEvent.getPrimaryPrepareTxId().getId(), (xid, pendingTransaction) -> {
+                if (pendingTransaction == null) {
+                    pendingTransaction = new PendingTransaction(preparedEvent.getGlobalTxStatusQuery(), firstPollMillis);
+                }
+                if (!pendingTransaction.preparedEvents.contains(preparedEvent)) {
+                    pendingTransaction.preparedEvents.add(preparedEvent);
+                    memoryBytes.addAndGet(preparedEvent.getSerializedSize());
+                }
+                return pendingTransaction;
+            });
+        }
+
+        void stop() {
+            this.timeout.cancel();
+        }
+
+        private void scheduleNextTick() {
+            if (!running) {
+                return;
+            }
+            this.timeout = timer.newTimeout(() -> {
+                executorService.execute(this::poll);
+                scheduleNextTick();
+            }, minPollDelayMillis, TimeUnit.MILLISECONDS);
+        }
+
+        private void poll() {
+            if (this.pendingTransactions.isEmpty() || !this.polling.compareAndSet(false, true)) {
+                return;
+            }
+            CompletableFuture<Void> polled;
+            try {
+                polled = pollDue();
+            } catch (RuntimeException e) {
+                polled = new CompletableFuture<>();
+                polled.completeExceptionally(e);
+            }
+            // whatever happened, the next tick must be able to poll again
+            polled.whenComplete((v, throwable) -> {
+                if (throwable != null) {
+                    LOGGER.error("evaluate global transactions failed", throwable);
+                }
+                this.polling.set(false);
+            });
+        }
+
+        /**
+         * @return a future completing once every batch query of the transactions due is answered
+         */
+        private CompletableFuture<Void> pollDue() {
+            Resource resource = resourceRegistry.getResource(this.uri);
+            if (resource == null) {
+                LOGGER.warn("resource {}/{} not registered yet, skip polling", this.uri.getNetwork(), this.uri.getChain());
+                return CompletableFuture.completedFuture(null);
+            }
+
+            long now = System.currentTimeMillis();
+            Map<String, Boolean> eventEmitted = new HashMap<>();
+            Map<String, List<String>> xidsByContract = new HashMap<>();
+            this.pendingTransactions.forEach((xid, pendingTransaction) -> {
+                if (pendingTransaction.resolving.get()) {
+                    return;
+                }
+                if (eventEmitted.computeIfAbsent(pendingTransaction.globalTxStatusQuery.getContract(), contract -> eventEmitted(resource, contract))) {
+                    pendingTransaction.reset(now);
+                }
+                if (pendingTransaction.nextPollMillis <= now) {
+                    pendingTransaction.backoff(now);
+                    xidsByContract.computeIfAbsent(pendingTransaction.globalTxStatusQuery.getContract(), contract -> new ArrayList<>()).add(xid);
+                }
+            });
+
+            List<CompletableFuture<Void>> batchFutures = new ArrayList<>();
+            xidsByContract.forEach((contract, xids) -> {
+                for (int from = 0; from < xids.size(); from += statusBatchSize) {
+                    Invocation batchQuery = Invocation.newBuilder()
+                        .setContract(contract)
+                        .setFunc(statusBatchFunc)
+                        .addAllArgs(xids.subList(from, Math.min(from + statusBatchSize, xids.size())))
+                        .build();
+                    batchFutures.add(resource.evaluateGlobalTransactions(batchQuery)
+                        .thenAccept(statuses -> statuses.forEach(status -> resolve(resource, status))));
+                }
+            });
+            return CompletableFuture.allOf(batchFutures.toArray(new CompletableFuture[0]));
+        }
+
+        /**
+         * @return whether the contract emitted an event on the primary chain since the last poll
+         */
+        private boolean eventEmitted(Resource resource, String contract) {
+            long eventHeight = resource.getEventHeight(contract);
+            Long lastEventHeight = this.lastEventHeights.put(contract, eventHeight);
+            return lastEventHeight != null && lastEventHeight >= 0 && eventHeight > lastEventHeight;
+        }
+
+        void resolve(Resource resource, GlobalTransactionStatus globalTransactionStatus) {
+            if (globalTransactionStatus.getStatus() == PRIMARY_TRANSACTION_PREPARED) {
+                return;
+            }
+            PendingTransaction pendingTransaction = this.pendingTransactions.get(globalTransactionStatus.getPrimaryPrepareTxId().getId());
+            if (pendingTransaction == null || !pendingTransaction.resolving.compareAndSet(false, true)) {
+                return;
+            }
+            List<BranchTransactionPreparedEvent> preparedEvents;
+            try {
+                preparedEvents = unconfirmed(globalTransactionStatus.getPrimaryPrepareTxId().getId());
+            } catch (IOException e) {
+                LOGGER.error("page in branch transactions of {} failed, retry later", globalTransactionStatus.getPrimaryPrepareTxId().getId(), e);
+                retry(pendingTransaction);
+                return;
+            }
+            eventLoops.execute(globalTransactionStatus.getPrimaryPrepareTxId(), () -> confirmBranchTransactions(this, pendingTransaction, resource, preparedEvents, globalTransactionStatus));
+        }
+
+        /**
+         * @return the unconfirmed branches of a pending transaction, read while its entry is computed
+         * so a concurrent spill cannot move them between the overflow file and the heap halfway
+         */
+        List<BranchTransactionPreparedEvent> unconfirmed(String xid) throws IOException {
+            List<BranchTransactionPreparedEvent> events = new ArrayList<>();
+            try {
+                this.pendingTransactions.computeIfPresent(xid, (id, pendingTransaction) -> {
+                    try {
+                        events.addAll(pendingTransaction.unconfirmed());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return pendingTransaction;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return events;
+        }
+
+        /**
+         * Resolve the transaction again after its backoff, its status is polled again by then.
+         */
+        void retry(PendingTransaction pendingTransaction) {
+            pendingTransaction.backoff(System.currentTimeMillis());
+            pendingTransaction.resolving.set(false);
+        }
+
+        /**
+         * Drop a resolved transaction once every branch waiting on it is confirmed, including branches
+         * that arrived while it was being resolved, or retry it.
+         */
+        void finish(TransactionID primaryPrepareTxId, PendingTransaction resolved) {
+            AtomicBoolean finished = new AtomicBoolean();
+            this.pendingTransactions.computeIfPresent(primaryPrepareTxId.getId(), (xid, pendingTransaction) -> {
+                try {
+                    if (pendingTransaction != resolved || !pendingTransaction.unconfirmed().isEmpty()) {
+                        return pendingTransaction;
+                    }
+                } catch (IOException e) {
+                    LOGGER.error("page in branch transactions of {} failed", xid, e);
+                    return pendingTransaction;
+                }
+                memoryBytes.addAndGet(-sizeOf(pendingTransaction.preparedEvents));
+                if (pendingTransaction.spilled != null) {
+                    overflow.release(pendingTransaction.spilled);
+                }
+                finished.set(true);
+                return null;
+            });
+            if (finished.get()) {
+                monitorLog.remove(primaryPrepareTxId);
+            } else {
+                retry(resolved);
+            }
+        }
+    }
 }
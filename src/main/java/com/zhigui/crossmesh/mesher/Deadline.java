@@ -0,0 +1,89 @@
+package com.zhigui.crossmesh.mesher;
+
+import com.google.protobuf.Timestamp;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Wall clock deadline of a global transaction, taken from its ttl_time.
+ */
+public final class Deadline {
+    public static final Deadline NONE = new Deadline(Long.MAX_VALUE);
+
+    private final long epochMillis;
+
+    private Deadline(long epochMillis) {
+        this.epochMillis = epochMillis;
+    }
+
+    public static Deadline of(Timestamp ttlTime) {
+        if (ttlTime.getSeconds() == 0 && ttlTime.getNanos() == 0) {
+            return NONE;
+        }
+        return new Deadline(TimeUnit.SECONDS.toMillis(ttlTime.getSeconds()) + TimeUnit.NANOSECONDS.toMillis(ttlTime.getNanos()));
+    }
+
+    public static Deadline after(long timeout, TimeUnit unit) {
+        return new Deadline(System.currentTimeMillis() + unit.toMillis(timeout));
+    }
+
+    public boolean isNone() {
+        return this == NONE;
+    }
+
+    public boolean isExpired() {
+        return !isNone() && System.currentTimeMillis() >= this.epochMillis;
+    }
+
+    public long remainingMillis() {
+        if (isNone()) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, this.epochMillis - System.currentTimeMillis());
+    }
+
+    public Deadline min(Deadline other) {
+        return this.epochMillis <= other.epochMillis ? this : other;
+    }
+
+    /**
+     * Fails the returned future with a {@link TimeoutException} once the deadline passes and cancels the source future.
+     * The timeout is completed on the executor, so its dependents do not run on the timer thread.
+     */
+    public <T> CompletableFuture<T> bind(CompletableFuture<T> future, HashedWheelTimer timer, Executor executor) {
+        if (isNone() || future.isDone()) {
+            return future;
+        }
+        CompletableFuture<T> bound = new CompletableFuture<>();
+        Runnable expire = () -> {
+            if (bound.completeExceptionally(new TimeoutException("global transaction deadline exceeded"))) {
+                future.cancel(true);
+            }
+        };
+        HashedWheelTimer.Timeout timeout = timer.newTimeout(() -> {
+            try {
+                executor.execute(expire);
+            } catch (RejectedExecutionException e) {
+                expire.run();
+            }
+        }, remainingMillis(), TimeUnit.MILLISECONDS);
+        future.whenComplete((value, throwable) -> {
+            timeout.cancel();
+            if (throwable != null) {
+                bound.completeExceptionally(throwable);
+            } else {
+                bound.complete(value);
+            }
+        });
+        return bound;
+    }
+
+    @Override
+    public String toString() {
+        return isNone() ? "Deadline{none}" : "Deadline{" + this.epochMillis + "}";
+    }
+}
@@ -0,0 +1,67 @@
+package com.zhigui.crossmesh.mesher;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.zhigui.crossmesh.proto.Types.TransactionID;
+
+/**
+ * Global transactions the mesher is driving. Prepare rounds are keyed by primary prepare tx id and
+ * branch confirm rounds by primary confirm tx id, so a redelivered contract event costs a map lookup.
+ * Finished transactions are kept for a retention period to absorb late duplicates.
+ */
+@Component
+public class GlobalTransactionTable {
+
+    public enum Phase {
+        PREPARING,
+        CONFIRMING,
+        DONE
+    }
+
+    private final ConcurrentHashMap<TransactionID, Phase> transactions;
+
+    private final HashedWheelTimer timer;
+
+    private final long doneRetentionSeconds;
+
+    public GlobalTransactionTable(Config config, HashedWheelTimer timer) {
+        this.transactions = new ConcurrentHashMap<>();
+        this.timer = timer;
+        this.doneRetentionSeconds = config.getDoneTransactionRetentionSeconds();
+    }
+
+    /**
+     * @return false if the transaction is already known, in which case the event is a duplicate
+     */
+    public boolean begin(TransactionID txId, Phase phase) {
+        return this.transactions.putIfAbsent(txId, phase) == null;
+    }
+
+    public boolean advance(TransactionID txId, Phase from, Phase to) {
+        if (!this.transactions.replace(txId, from, to)) {
+            return false;
+        }
+        if (to == Phase.DONE) {
+            this.timer.newTimeout(() -> this.transactions.remove(txId, Phase.DONE), this.doneRetentionSeconds, TimeUnit.SECONDS);
+        }
+        return true;
+    }
+
+    /**
+     * Forget a transaction whose round failed, so a redelivered event can drive it again.
+     */
+    public void abandon(TransactionID txId) {
+        this.transactions.remove(txId);
+    }
+
+    public Phase getPhase(TransactionID txId) {
+        return this.transactions.get(txId);
+    }
+
+    public int size() {
+        return this.transactions.size();
+    }
+}
@@ -0,0 +1,293 @@
+package com.zhigui.crossmesh.mesher;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hashed timing wheel shared by the mesher for its many pending timeouts: monitor polling, proof
+ * polling, retry backoff and deadlines. Scheduling and cancelling are O(1) and each pending timeout
+ * costs one small node. Expired tasks run on the single wheel thread, so they must only do a
+ * little work, usually handing off to another executor. Timeouts fire up to one tick late.
+ */
+@Component
+public class HashedWheelTimer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HashedWheelTimer.class);
+
+    private static final int MAX_TRANSFERS_PER_TICK = 100000;
+
+    private final long tickNanos;
+
+    private final Bucket[] wheel;
+
+    private final int mask;
+
+    private final Queue<WheelTimeout> newTimeouts;
+
+    private final Queue<WheelTimeout> cancelledTimeouts;
+
+    private final AtomicLong pendingTimeouts;
+
+    private final long startTime;
+
+    private final Thread worker;
+
+    private volatile boolean running;
+
+    private long tick;
+
+    @Autowired
+    public HashedWheelTimer(Config config) {
+        this(config.getTimerTickMillis(), TimeUnit.MILLISECONDS, config.getTimerTicksPerWheel());
+    }
+
+    public HashedWheelTimer(long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        if (tickDuration <= 0 || ticksPerWheel <= 0) {
+            throw new IllegalArgumentException("tick duration and ticks per wheel must be positive");
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        int wheelSize = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+        this.wheel = new Bucket[Math.max(wheelSize, 1)];
+        for (int i = 0; i < this.wheel.length; i++) {
+            this.wheel[i] = new Bucket();
+        }
+        this.mask = this.wheel.length - 1;
+        this.newTimeouts = new ConcurrentLinkedQueue<>();
+        this.cancelledTimeouts = new ConcurrentLinkedQueue<>();
+        this.pendingTimeouts = new AtomicLong();
+        this.startTime = System.nanoTime();
+        this.running = true;
+        this.worker = new Thread(this::run, "mesher-wheel-timer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+        if (!this.running) {
+            throw new IllegalStateException("timer stopped");
+        }
+        WheelTimeout timeout = new WheelTimeout(this, task, System.nanoTime() + unit.toNanos(Math.max(delay, 0)) - this.startTime);
+        this.pendingTimeouts.incrementAndGet();
+        this.newTimeouts.add(timeout);
+        return timeout;
+    }
+
+    public long pendingTimeouts() {
+        return this.pendingTimeouts.get();
+    }
+
+    @PreDestroy
+    public void stop() {
+        this.running = false;
+        this.worker.interrupt();
+    }
+
+    private void run() {
+        while (this.running) {
+            long now = waitForNextTick();
+            if (now < 0) {
+                continue;
+            }
+            processCancelled();
+            transferNewTimeouts();
+            this.wheel[(int) (this.tick & this.mask)].expire(now);
+            this.tick++;
+        }
+    }
+
+    /**
+     * @return the time relative to the start of the wheel, or -1 if interrupted
+     */
+    private long waitForNextTick() {
+        long tickDeadline = this.tickNanos * (this.tick + 1);
+        while (true) {
+            long now = System.nanoTime() - this.startTime;
+            long sleepMillis = TimeUnit.NANOSECONDS.toMillis(tickDeadline - now + 999999);
+            if (sleepMillis <= 0) {
+                return now;
+            }
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException e) {
+                if (!this.running) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    private void transferNewTimeouts() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            WheelTimeout timeout = this.newTimeouts.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state != WheelTimeout.ST_INIT) {
+                continue;
+            }
+            long calculated = timeout.deadline / this.tickNanos;
+            timeout.remainingRounds = (calculated - this.tick) / this.wheel.length;
+            // a timeout already in the past goes into the current bucket
+            long ticks = Math.max(calculated, this.tick);
+            this.wheel[(int) (ticks & this.mask)].add(timeout);
+        }
+    }
+
+    private void processCancelled() {
+        while (true) {
+            WheelTimeout timeout = this.cancelledTimeouts.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    public interface Timeout {
+        /**
+         * @return false if the timeout has already expired or been cancelled
+         */
+        boolean cancel();
+
+        boolean isExpired();
+
+        boolean isCancelled();
+    }
+
+    private static final class WheelTimeout implements Timeout {
+        private static final int ST_INIT = 0;
+
+        private static final int ST_CANCELLED = 1;
+
+        private static final int ST_EXPIRED = 2;
+
+        private static final AtomicIntegerFieldUpdater<WheelTimeout> STATE_UPDATER = AtomicIntegerFieldUpdater.newUpdater(WheelTimeout.class, "state");
+
+        private final HashedWheelTimer timer;
+
+        private final Runnable task;
+
+        private final long deadline;
+
+        private volatile int state;
+
+        private long remainingRounds;
+
+        private WheelTimeout next;
+
+        private WheelTimeout prev;
+
+        private Bucket bucket;
+
+        WheelTimeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!STATE_UPDATER.compareAndSet(this, ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            this.timer.pendingTimeouts.decrementAndGet();
+            this.timer.cancelledTimeouts.add(this);
+            return true;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return this.state == ST_EXPIRED;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return this.state == ST_CANCELLED;
+        }
+
+        void expire() {
+            if (!STATE_UPDATER.compareAndSet(this, ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            this.timer.pendingTimeouts.decrementAndGet();
+            try {
+                this.task.run();
+            } catch (Throwable t) {
+                LOGGER.error("timer task failed", t);
+            }
+        }
+    }
+
+    /**
+     * Doubly linked list of timeouts, only touched by the wheel thread.
+     */
+    private static final class Bucket {
+        private WheelTimeout head;
+
+        private WheelTimeout tail;
+
+        void add(WheelTimeout timeout) {
+            timeout.bucket = this;
+            if (this.head == null) {
+                this.head = this.tail = timeout;
+            } else {
+                this.tail.next = timeout;
+                timeout.prev = this.tail;
+                this.tail = timeout;
+            }
+        }
+
+        void expire(long now) {
+            WheelTimeout timeout = this.head;
+            while (timeout != null) {
+                WheelTimeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    if (timeout.deadline <= now) {
+                        timeout.expire();
+                    } else {
+                        // should not happen, the timeout was put into the wrong bucket
+                        LOGGER.error("timeout deadline {} is later than tick {}", timeout.deadline, now);
+                    }
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(WheelTimeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            WheelTimeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == this.head) {
+                this.head = next;
+            }
+            if (timeout == this.tail) {
+                this.tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.zhigui.crossmesh.mesher;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static com.zhigui.crossmesh.proto.Types.BranchTransactionPreparedEvent;
+import static com.zhigui.crossmesh.proto.Types.TransactionID;
+
+/**
+ * Append-only local log of the branch prepared events watched by the {@link CrossTransactionMonitor},
+ * so pending branch confirmations survive a restart. Each record is a type byte, a length and the
+ * protobuf bytes of either the prepared event or the resolved primary prepare tx id.
+ * <p>
+ * Records are group committed by a single writer thread: every record queued while the previous
+ * batch was being forced is written and forced together, and the futures of the batch complete once
+ * it is durable. Once enough records are appended the log is compacted to the live events only,
+ * which keeps the replay at startup proportional to the number of pending transactions.
+ */
+@Component
+public class MonitorLog {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MonitorLog.class);
+
+    private static final byte ADD = 1;
+
+    private static final byte REMOVE = 2;
+
+    private static final String LOG_FILE = "monitor.log";
+
+    private static final String COMPACT_FILE = "monitor.log.compact";
+
+    private final Path dir;
+
+    private final int compactThreshold;
+
+    private final BlockingQueue<Record> records;
+
+    private Thread writer;
+
+    private volatile boolean running;
+
+    private FileChannel channel;
+
+    private int appendedSinceCompact;
+
+    private Supplier<Collection<BranchTransactionPreparedEvent>> liveEvents;
+
+    public MonitorLog(Config config) {
+        this.dir = Paths.get(config.getMonitorLogDir());
+        this.compactThreshold = Math.max(1, config.getMonitorLogCompactThreshold());
+        this.records = new LinkedBlockingQueue<>();
+    }
+
+    /**
+     * Replay the log and open it for appending, then compact it with the replayed events and start
+     * the writer.
+     *
+     * @param liveEvents supplies the events still pending when the log is compacted later on, it is
+     *                   called on the writer thread and must include every event appended but not
+     *                   yet removed
+     * @return the events that were pending when the mesher stopped
+     */
+    public synchronized List<BranchTransactionPreparedEvent> recover(Supplier<Collection<BranchTransactionPreparedEvent>> liveEvents) {
+        this.liveEvents = liveEvents;
+        Map<TransactionID, List<BranchTransactionPreparedEvent>> pending = new LinkedHashMap<>();
+        try {
+            Files.createDirectories(this.dir);
+            Path log = this.dir.resolve(LOG_FILE);
+            if (Files.exists(log)) {
+                replay(log, pending);
+            }
+            List<BranchTransactionPreparedEvent> recovered = new ArrayList<>();
+            pending.values().forEach(recovered::addAll);
+            rewrite(recovered);
+            this.running = true;
+            this.writer = new Thread(this::run, "mesher-monitor-log");
+            this.writer.setDaemon(true);
+            this.writer.start();
+            LOGGER.info("recovered {} pending branch transactions from monitor log", recovered.size());
+            return recovered;
+        } catch (IOException e) {
+            throw new UncheckedIOException("recover monitor log failed", e);
+        }
+    }
+
+    /**
+     * @return a future completing once the event is durable
+     */
+    public CompletableFuture<Void> append(BranchTransactionPreparedEvent preparedEvent) {
+        return write(ADD, preparedEvent.toByteArray());
+    }
+
+    /**
+     * @return a future completing once the removal is durable
+     */
+    public CompletableFuture<Void> remove(TransactionID primaryPrepareTxId) {
+        return write(REMOVE, primaryPrepareTxId.toByteArray());
+    }
+
+    /**
+     * Stop the writer after it has flushed the records already queued.
+     */
+    public void close() {
+        Thread writer;
+        synchronized (this) {
+            if (!this.running) {
+                return;
+            }
+            this.running = false;
+            writer = this.writer;
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Record record;
+        while ((record = this.records.poll()) != null) {
+            record.future.completeExceptionally(new IllegalStateException("monitor log closed"));
+        }
+        try {
+            this.channel.close();
+        } catch (IOException e) {
+            LOGGER.warn("close monitor log failed", e);
+        }
+    }
+
+    private CompletableFuture<Void> write(byte type, byte[] payload) {
+        Record record = new Record(type, payload);
+        if (!this.running) {
+            record.future.completeExceptionally(new IllegalStateException("monitor log not open"));
+            return record.future;
+        }
+        this.records.add(record);
+        return record.future;
+    }
+
+    private void run() {
+        List<Record> batch = new ArrayList<>();
+        while (this.running || !this.records.isEmpty()) {
+            Record record;
+            try {
+                // not interruptible by close, an interrupt would close the channel mid write
+                record = this.records.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (record == null) {
+                continue;
+            }
+            batch.add(record);
+            this.records.drainTo(batch);
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<Record> batch) {
+        try {
+            ByteBuffer[] buffers = new ByteBuffer[batch.size()];
+            for (int i = 0; i < buffers.length; i++) {
+                buffers[i] = record(batch.get(i).type, batch.get(i).payload);
+            }
+            long remaining = 0;
+            for (ByteBuffer buffer : buffers) {
+                remaining += buffer.remaining();
+            }
+            while (remaining > 0) {
+                remaining -= this.channel.write(buffers);
+            }
+            this.channel.force(false);
+        } catch (IOException e) {
+            LOGGER.error("write monitor log failed", e);
+            batch.forEach(record -> record.future.completeExceptionally(e));
+            return;
+        }
+        batch.forEach(record -> record.future.complete(null));
+        this.appendedSinceCompact += batch.size();
+        if (this.appendedSinceCompact >= this.compactThreshold) {
+            try {
+                rewrite(this.liveEvents.get());
+            } catch (IOException | UncheckedIOException e) {
+                LOGGER.error("compact monitor log failed", e);
+            }
+        }
+    }
+
+    /**
+     * Write the live events to a new file and atomically swap it in. Only the writer thread appends
+     * to the log, so no record can slip in between, and every event that was durably appended is
+     * either still live or already removed.
+     */
+    private void rewrite(Collection<BranchTransactionPreparedEvent> events) throws IOException {
+        Path compact = this.dir.resolve(COMPACT_FILE);
+        try (FileChannel out = FileChannel.open(compact, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (BranchTransactionPreparedEvent event : events) {
+                out.write(record(ADD, event.toByteArray()));
+            }
+            out.force(true);
+        }
+        if (this.channel != null) {
+            this.channel.close();
+        }
+        Path log = this.dir.resolve(LOG_FILE);
+        Files.move(compact, log, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        this.channel = FileChannel.open(log, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.appendedSinceCompact = 0;
+    }
+
+    private static void replay(Path log, Map<TransactionID, List<BranchTransactionPreparedEvent>> pending) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(log));
+        while (buffer.remaining() >= 5) {
+            byte type = buffer.get();
+            int length = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                // torn write of the last record before a crash
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            try {
+                if (type == ADD) {
+                    BranchTransactionPreparedEvent event = BranchTransactionPreparedEvent.parseFrom(payload);
+                    List<BranchTransactionPreparedEvent> events = pending.computeIfAbsent(event.getPrimaryPrepareTxId(), xid -> new ArrayList<>());
+                    if (!events.contains(event)) {
+                        events.add(event);
+                    }
+                } else if (type == REMOVE) {
+                    pending.remove(TransactionID.parseFrom(payload));
+                }
+            } catch (InvalidProtocolBufferException e) {
+                LOGGER.warn("skip corrupted monitor log record", e);
+            }
+        }
+    }
+
+    private static final class Record {
+        private final byte type;
+
+        private final byte[] payload;
+
+        private final CompletableFuture<Void> future;
+
+        Record(byte type, byte[] payload) {
+            this.type = type;
+            this.payload = payload;
+            this.future = new CompletableFuture<>();
+        }
+    }
+
+    private static ByteBuffer record(byte type, byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.allocate(5 + payload.length);
+        buffer.put(type).putInt(payload.length).put(payload);
+        buffer.flip();
+        return buffer;
+    }
+}
@@ -0,0 +1,184 @@
+package com.zhigui.crossmesh.mesher;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import static com.zhigui.crossmesh.proto.Types.BranchTransactionPreparedEvent;
+
+/**
+ * Overflow file for the branch prepared events the {@link CrossTransactionMonitor} pushes out of the
+ * heap once its memory budget is exceeded. It is only a cache, the {@link MonitorLog} stays the
+ * durable record, so the file is emptied at startup and whenever nothing is spilled anymore.
+ * <p>
+ * Released records leave dead bytes behind. Once the dead bytes outweigh the live ones the live
+ * records are copied to a new file and their offsets updated, so the file stays within twice the
+ * size of what is actually spilled.
+ */
+@Component
+public class MonitorOverflow {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MonitorOverflow.class);
+
+    private static final String OVERFLOW_FILE = "monitor.overflow";
+
+    private static final String COMPACT_FILE = "monitor.overflow.compact";
+
+    private static final long MIN_COMPACT_BYTES = 1 << 20;
+
+    private final Path file;
+
+    private final Set<Spilled> liveRecords;
+
+    private FileChannel channel;
+
+    private long size;
+
+    private long liveBytes;
+
+    public MonitorOverflow(Config config) {
+        this.file = Paths.get(config.getMonitorLogDir(), OVERFLOW_FILE);
+        this.liveRecords = Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    public synchronized Spilled spill(List<BranchTransactionPreparedEvent> events) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (BranchTransactionPreparedEvent event : events) {
+            event.writeDelimitedTo(out);
+        }
+        byte[] bytes = out.toByteArray();
+        FileChannel channel = open();
+        long offset = this.size;
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, offset + buffer.position());
+        }
+        this.size += bytes.length;
+        Spilled spilled = new Spilled(offset, bytes.length);
+        this.liveRecords.add(spilled);
+        this.liveBytes += bytes.length;
+        return spilled;
+    }
+
+    public synchronized List<BranchTransactionPreparedEvent> load(Spilled spilled) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(spilled.length);
+        FileChannel channel = open();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, spilled.offset + buffer.position()) < 0) {
+                throw new IOException("overflow record truncated");
+            }
+        }
+        List<BranchTransactionPreparedEvent> events = new ArrayList<>();
+        ByteArrayInputStream in = new ByteArrayInputStream(buffer.array());
+        BranchTransactionPreparedEvent event;
+        while ((event = BranchTransactionPreparedEvent.parseDelimitedFrom(in)) != null) {
+            events.add(event);
+        }
+        return events;
+    }
+
+    /**
+     * Drop a record that is no longer needed, the file is truncated once no record is left and
+     * compacted once it is mostly dead bytes.
+     */
+    public synchronized void release(Spilled spilled) {
+        if (!this.liveRecords.remove(spilled) || this.channel == null) {
+            return;
+        }
+        this.liveBytes -= spilled.length;
+        try {
+            if (this.liveRecords.isEmpty()) {
+                this.channel.truncate(0);
+                this.size = 0;
+            } else if (this.size > MIN_COMPACT_BYTES && this.size - this.liveBytes > this.liveBytes) {
+                compact();
+            }
+        } catch (IOException e) {
+            LOGGER.warn("shrink monitor overflow failed", e);
+        }
+    }
+
+    public synchronized long size() {
+        return this.size;
+    }
+
+    public synchronized void close() {
+        if (this.channel == null) {
+            return;
+        }
+        try {
+            this.channel.close();
+            Files.deleteIfExists(this.file);
+        } catch (IOException e) {
+            LOGGER.warn("close monitor overflow failed", e);
+        }
+        this.channel = null;
+    }
+
+    private void compact() throws IOException {
+        Path compact = this.file.resolveSibling(COMPACT_FILE);
+        FileChannel out = FileChannel.open(compact, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        long[] offsets = new long[this.liveRecords.size()];
+        long position = 0;
+        try {
+            int i = 0;
+            for (Spilled spilled : this.liveRecords) {
+                long transferred = 0;
+                while (transferred < spilled.length) {
+                    transferred += this.channel.transferTo(spilled.offset + transferred, spilled.length - transferred, out);
+                }
+                offsets[i++] = position;
+                position += spilled.length;
+            }
+            Files.move(compact, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            out.close();
+            Files.deleteIfExists(compact);
+            throw e;
+        }
+        // only switch over once the copy is complete, a failed compaction keeps the old file
+        int i = 0;
+        for (Spilled spilled : this.liveRecords) {
+            spilled.offset = offsets[i++];
+        }
+        this.channel.close();
+        this.channel = out;
+        LOGGER.info("monitor overflow compacted from {} to {} bytes", this.size, position);
+        this.size = position;
+    }
+
+    private FileChannel open() throws IOException {
+        if (this.channel == null) {
+            Files.createDirectories(this.file.getParent());
+            this.channel = FileChannel.open(this.file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.size = 0;
+        }
+        return this.channel;
+    }
+
+    public static final class Spilled {
+        private long offset;
+
+        private final int length;
+
+        private Spilled(long offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
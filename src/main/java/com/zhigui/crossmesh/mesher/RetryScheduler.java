@@ -0,0 +1,128 @@
+package com.zhigui.crossmesh.mesher;
+
+import com.zhigui.crossmesh.mesher.resource.BranchTransactionException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Retries asynchronous submissions that failed transiently with capped exponential backoff and
+ * jitter. Attempts are rescheduled on a shared timer, so no thread waits between them, and run on
+ * the retry executor rather than the timer thread.
+ */
+@Component
+public class RetryScheduler {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RetryScheduler.class);
+
+    private final HashedWheelTimer timer;
+
+    private final Executor executor;
+
+    private final MeterRegistry meterRegistry;
+
+    private final int maxAttempts;
+
+    private final long initialBackoffMillis;
+
+    private final long maxBackoffMillis;
+
+    @Autowired
+    public RetryScheduler(Config config, HashedWheelTimer timer, MeterRegistry meterRegistry) {
+        this(config, timer, meterRegistry, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mesher-retry");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    RetryScheduler(Config config, HashedWheelTimer timer, MeterRegistry meterRegistry, Executor executor) {
+        this.timer = timer;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, config.getRetryMaxAttempts());
+        this.initialBackoffMillis = config.getRetryInitialBackoffMillis();
+        this.maxBackoffMillis = config.getRetryMaxBackoffMillis();
+    }
+
+    public <T> CompletableFuture<T> execute(String operation, Supplier<CompletableFuture<T>> action) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attempt(operation, action, 1, result);
+        return result;
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (this.executor instanceof ExecutorService) {
+            ((ExecutorService) this.executor).shutdown();
+        }
+    }
+
+    public static boolean isRetryable(Throwable throwable) {
+        Throwable cause = BranchTransactionException.unwrap(throwable);
+        if (cause instanceof BranchTransactionException) {
+            return ((BranchTransactionException) cause).isRetryable();
+        }
+        return cause instanceof TimeoutException || cause instanceof RejectedExecutionException;
+    }
+
+    private <T> void attempt(String operation, Supplier<CompletableFuture<T>> action, int attempt, CompletableFuture<T> result) {
+        CompletableFuture<T> future;
+        try {
+            future = action.get();
+        } catch (RuntimeException e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        future.whenComplete((value, throwable) -> {
+            if (throwable == null) {
+                if (attempt > 1) {
+                    this.meterRegistry.counter("mesher.retry.recovered", "operation", operation).increment();
+                }
+                result.complete(value);
+                return;
+            }
+            if (!isRetryable(throwable)) {
+                this.meterRegistry.counter("mesher.retry.fatal", "operation", operation).increment();
+                result.completeExceptionally(throwable);
+                return;
+            }
+            if (attempt >= this.maxAttempts) {
+                this.meterRegistry.counter("mesher.retry.exhausted", "operation", operation).increment();
+                LOGGER.error("{} failed after {} attempts", operation, attempt, throwable);
+                result.completeExceptionally(throwable);
+                return;
+            }
+            long backoffMillis = backoffMillis(attempt);
+            this.meterRegistry.counter("mesher.retry.attempts", "operation", operation).increment();
+            LOGGER.warn("{} failed transiently, retry attempt {} in {} ms", operation, attempt + 1, backoffMillis);
+            this.timer.newTimeout(() -> retry(operation, action, attempt + 1, result), backoffMillis, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    private <T> void retry(String operation, Supplier<CompletableFuture<T>> action, int attempt, CompletableFuture<T> result) {
+        try {
+            this.executor.execute(() -> attempt(operation, action, attempt, result));
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    private long backoffMillis(int attempt) {
+        long cap = Math.min(this.maxBackoffMillis, this.initialBackoffMillis << Math.min(attempt - 1, 30));
+        // equal jitter: keep half of the backoff and randomize the other half
+        return cap / 2 + ThreadLocalRandom.current().nextLong(cap / 2 + 1);
+    }
+}
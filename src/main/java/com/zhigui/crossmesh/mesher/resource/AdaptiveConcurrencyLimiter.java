@@ -0,0 +1,192 @@
+package com.zhigui.crossmesh.mesher.resource;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * AIMD concurrency limiter driven by observed latency. The limit grows by one per window of
+ * successful calls and shrinks multiplicatively on congestion: a call that times out, is rejected by
+ * a saturated pool, or takes much longer than the baseline latency. Other failures are answers of
+ * the chain and leave the limit alone. Calls above the limit wait in one FIFO queue per
+ * {@link Priority} and are started highest priority first. Each queue has its own bound, so a
+ * backlog of prepares never turns confirms away, while confirms still cannot grow without limit.
+ * <p>
+ * Queued calls are started by the thread completing a call, and a call may complete while it is
+ * started, so the starts of a thread are run one after another instead of nesting.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private static final double LATENCY_TOLERANCE = 2.0;
+
+    private static final double BASELINE_SMOOTHING = 0.01;
+
+    private final String name;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final int[] maxQueueSizes;
+
+    private final ArrayDeque<Runnable>[] pending;
+
+    private int queued;
+
+    private double limit;
+
+    private int inFlight;
+
+    private double baselineLatencyNanos;
+
+    /**
+     * Starts due on the current thread, set while the thread runs them.
+     */
+    private final ThreadLocal<ArrayDeque<Runnable>> starts = new ThreadLocal<>();
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int maxLimit, int maxQueueSize, int maxConfirmQueueSize) {
+        this.name = name;
+        this.minLimit = 1;
+        this.maxLimit = Math.max(maxLimit, this.minLimit);
+        this.maxQueueSizes = new int[Priority.values().length];
+        this.maxQueueSizes[Priority.CONFIRM.ordinal()] = maxConfirmQueueSize;
+        this.maxQueueSizes[Priority.PREPARE.ordinal()] = maxQueueSize;
+        this.limit = Math.min(Math.max(initialLimit, this.minLimit), this.maxLimit);
+        this.pending = newQueues();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArrayDeque<Runnable>[] newQueues() {
+        ArrayDeque<Runnable>[] queues = new ArrayDeque[Priority.values().length];
+        for (int i = 0; i < queues.length; i++) {
+            queues[i] = new ArrayDeque<>();
+        }
+        return queues;
+    }
+
+    public <T> CompletableFuture<T> submit(Priority priority, Supplier<CompletableFuture<T>> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable start = () -> run(task, result);
+        synchronized (this) {
+            if (this.inFlight >= (int) this.limit || this.queued > 0) {
+                if (this.pending[priority.ordinal()].size() >= this.maxQueueSizes[priority.ordinal()]) {
+                    result.completeExceptionally(new RejectedExecutionException(priority + " queue of " + this.name + " is full"));
+                } else {
+                    this.pending[priority.ordinal()].add(start);
+                    this.queued++;
+                }
+                return result;
+            }
+            this.inFlight++;
+        }
+        start.run();
+        return result;
+    }
+
+    public synchronized int getLimit() {
+        return (int) this.limit;
+    }
+
+    public synchronized int getInFlight() {
+        return this.inFlight;
+    }
+
+    public synchronized int getQueued() {
+        return this.queued;
+    }
+
+    private <T> void run(Supplier<CompletableFuture<T>> task, CompletableFuture<T> result) {
+        long startTime = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = task.get();
+        } catch (RuntimeException e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        future.whenComplete((value, throwable) -> {
+            onComplete(System.nanoTime() - startTime, throwable);
+            if (throwable != null) {
+                result.completeExceptionally(throwable);
+            } else {
+                result.complete(value);
+            }
+        });
+    }
+
+    private Runnable poll() {
+        for (ArrayDeque<Runnable> queue : this.pending) {
+            if (!queue.isEmpty()) {
+                return queue.poll();
+            }
+        }
+        throw new IllegalStateException("queued count out of sync");
+    }
+
+    /**
+     * @return whether a call failed because the chain or the mesher is overloaded
+     */
+    private static boolean isCongestion(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException || cause instanceof RejectedExecutionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void onComplete(long latencyNanos, Throwable throwable) {
+        List<Runnable> next = new ArrayList<>();
+        synchronized (this) {
+            this.inFlight--;
+            if (throwable == null) {
+                if (this.baselineLatencyNanos == 0 || latencyNanos < this.baselineLatencyNanos) {
+                    this.baselineLatencyNanos = latencyNanos;
+                } else {
+                    this.baselineLatencyNanos += (latencyNanos - this.baselineLatencyNanos) * BASELINE_SMOOTHING;
+                }
+            }
+
+            if (isCongestion(throwable) || (throwable == null && latencyNanos > this.baselineLatencyNanos * LATENCY_TOLERANCE)) {
+                this.limit = Math.max(this.minLimit, this.limit * BACKOFF_RATIO);
+            } else if (throwable == null && this.inFlight + 1 >= (int) this.limit / 2) {
+                this.limit = Math.min(this.maxLimit, this.limit + 1.0 / this.limit);
+            }
+
+            while (this.queued > 0 && this.inFlight < (int) this.limit) {
+                this.inFlight++;
+                this.queued--;
+                next.add(poll());
+            }
+        }
+        start(next);
+    }
+
+    /**
+     * Run starts on this thread. A start completing a call runs again into onComplete, the starts
+     * that frees are handed to the outer call instead, so the stack stays flat however long the
+     * queue is.
+     */
+    private void start(List<Runnable> next) {
+        ArrayDeque<Runnable> due = this.starts.get();
+        if (due != null) {
+            due.addAll(next);
+            return;
+        }
+        due = new ArrayDeque<>(next);
+        this.starts.set(due);
+        try {
+            Runnable start;
+            while ((start = due.poll()) != null) {
+                start.run();
+            }
+        } finally {
+            this.starts.remove();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.zhigui.crossmesh.mesher.resource;
+
+import java.util.concurrent.CompletionException;
+
+import static com.zhigui.crossmesh.proto.Types.BranchTransactionResponse;
+
+/**
+ * A branch transaction submission that failed, carrying the failed response and whether the
+ * resource considers the failure transient.
+ */
+public class BranchTransactionException extends RuntimeException {
+    private final BranchTransactionResponse response;
+
+    private final boolean retryable;
+
+    public BranchTransactionException(BranchTransactionResponse response, boolean retryable, Throwable cause) {
+        super("submit branch transaction " + response.getTxId().getId() + " failed", cause);
+        this.response = response;
+        this.retryable = retryable;
+    }
+
+    public BranchTransactionResponse getResponse() {
+        return response;
+    }
+
+    public boolean isRetryable() {
+        return retryable;
+    }
+
+    public static Throwable unwrap(Throwable throwable) {
+        while (throwable instanceof CompletionException && throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+        return throwable;
+    }
+}
@@ -0,0 +1,66 @@
+package com.zhigui.crossmesh.mesher.resource;
+
+import com.zhigui.crossmesh.mesher.Deadline;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.zhigui.crossmesh.proto.Types.BranchTransaction;
+import static com.zhigui.crossmesh.proto.Types.BranchTransactionResponse;
+import static com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus;
+import static com.zhigui.crossmesh.proto.Types.Invocation;
+
+/**
+ * A {@link Resource} forwarding every call to its delegate, decorators only override what they change.
+ */
+public abstract class ForwardingResource implements Resource {
+    private final Resource delegate;
+
+    protected ForwardingResource(Resource delegate) {
+        this.delegate = delegate;
+    }
+
+    protected Resource delegate() {
+        return delegate;
+    }
+
+    @Override
+    public CompletableFuture<BranchTransactionResponse> submitBranchTransaction(BranchTransaction branchTx, Deadline deadline, Priority priority) {
+        return this.delegate.submitBranchTransaction(branchTx, deadline, priority);
+    }
+
+    @Override
+    public CompletableFuture<GlobalTransactionStatus> evaluateGlobalTransaction(Invocation globalTxQuery) {
+        return this.delegate.evaluateGlobalTransaction(globalTxQuery);
+    }
+
+    @Override
+    public CompletableFuture<List<GlobalTransactionStatus>> evaluateGlobalTransactions(Invocation batchQuery) {
+        return this.delegate.evaluateGlobalTransactions(batchQuery);
+    }
+
+    @Override
+    public CompletableFuture<String> getProofForTransaction(String txId) {
+        return this.delegate.getProofForTransaction(txId);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> verifyProof(String proof) {
+        return this.delegate.verifyProof(proof);
+    }
+
+    @Override
+    public boolean isListened() {
+        return this.delegate.isListened();
+    }
+
+    @Override
+    public long getEventHeight(String contract) {
+        return this.delegate.getEventHeight(contract);
+    }
+
+    @Override
+    public void close() {
+        this.delegate.close();
+    }
+}
@@ -0,0 +1,10 @@
+package com.zhigui.crossmesh.mesher.resource;
+
+/**
+ * A proof that failed local verification, submitting it to another chain could only fail.
+ */
+public class InvalidProofException extends RuntimeException {
+    public InvalidProofException(String txId) {
+        super("proof of transaction " + txId + " is invalid");
+    }
+}
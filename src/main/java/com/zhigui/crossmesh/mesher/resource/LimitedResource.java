@@ -0,0 +1,29 @@
+package com.zhigui.crossmesh.mesher.resource;
+
+import com.zhigui.crossmesh.mesher.Deadline;
+
+import java.util.concurrent.CompletableFuture;
+
+import static com.zhigui.crossmesh.proto.Types.BranchTransaction;
+import static com.zhigui.crossmesh.proto.Types.BranchTransactionResponse;
+
+/**
+ * Puts an {@link AdaptiveConcurrencyLimiter} in front of the branch transaction submissions of a resource.
+ */
+public class LimitedResource extends ForwardingResource {
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public LimitedResource(Resource delegate, AdaptiveConcurrencyLimiter limiter) {
+        super(delegate);
+        this.limiter = limiter;
+    }
+
+    @Override
+    public CompletableFuture<BranchTransactionResponse> submitBranchTransaction(BranchTransaction branchTx, Deadline deadline, Priority priority) {
+        return this.limiter.submit(priority, () -> delegate().submitBranchTransaction(branchTx, deadline, priority));
+    }
+
+    public AdaptiveConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+}
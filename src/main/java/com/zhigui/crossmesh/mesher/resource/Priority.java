@@ -0,0 +1,10 @@
+package com.zhigui.crossmesh.mesher.resource;
+
+/**
+ * Scheduling priority of a branch transaction submission, highest first. Confirm and rollback
+ * submissions release locks, so they always go ahead of prepares that take new ones.
+ */
+public enum Priority {
+    CONFIRM,
+    PREPARE
+}
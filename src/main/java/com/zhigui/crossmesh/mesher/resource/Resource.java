@@ -1,5 +1,8 @@
 package com.zhigui.crossmesh.mesher.resource;
 
+import com.zhigui.crossmesh.mesher.Deadline;
+
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import static com.zhigui.crossmesh.proto.Types.BranchTransaction;
@@ -15,11 +18,37 @@ import static com.zhigui.crossmesh.proto.Types.Invocation;
  */
 public interface Resource {
 
-    CompletableFuture<BranchTransactionResponse> submitBranchTransaction(BranchTransaction branchTx);
+    CompletableFuture<BranchTransactionResponse> submitBranchTransaction(BranchTransaction branchTx, Deadline deadline, Priority priority);
 
     CompletableFuture<GlobalTransactionStatus> evaluateGlobalTransaction(Invocation globalTxQuery);
 
+    /**
+     * Query the status of many global transactions in one call, the args of the batch query are primary prepare tx ids.
+     */
+    CompletableFuture<List<GlobalTransactionStatus>> evaluateGlobalTransactions(Invocation batchQuery);
+
     CompletableFuture<String> getProofForTransaction(String txId);
 
+    /**
+     * Check a proof of this resource locally, resources that cannot check their proofs accept them all.
+     */
+    default CompletableFuture<Boolean> verifyProof(String proof) {
+        return CompletableFuture.completedFuture(true);
+    }
+
+    /**
+     * @return true if the cross contract events of this resource are delivered to the mesher
+     */
+    default boolean isListened() {
+        return false;
+    }
+
+    /**
+     * @return the block height of the chain when the contract last emitted an event, or -1 if it is not tracked
+     */
+    default long getEventHeight(String contract) {
+        return -1;
+    }
+
     void close();
 }
\ No newline at end of file
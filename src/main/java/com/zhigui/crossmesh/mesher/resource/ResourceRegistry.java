@@ -2,6 +2,7 @@ package com.zhigui.crossmesh.mesher.resource;
 
 import com.zhigui.crossmesh.mesher.Config;
 import com.zhigui.crossmesh.mesher.Coordinator;
+import com.zhigui.crossmesh.mesher.resource.fabric.FabricProofVerifier;
 import com.zhigui.crossmesh.mesher.resource.fabric.FabricResource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -24,19 +25,25 @@ public class ResourceRegistry {
     @Autowired
     private Coordinator coordinator;
 
+    @Autowired
+    private ResourceRuntime runtime;
+
+    @Autowired
+    private FabricProofVerifier proofVerifier;
+
     @PostConstruct
     public void start() {
         URI uri = URI.newBuilder().setNetwork(this.config.getMetaNetwork()).setChain(this.config.getMetaChain()).build();
         Resource resource = null;
         switch (config.getMetaChainType()) {
             case FABRIC:
-                resource = new FabricResource(uri, null, Paths.get(this.config.getFabricMetaChainConn()), coordinator, this.config);
+                resource = new FabricResource(uri, null, Paths.get(this.config.getFabricMetaChainConn()), coordinator, this.config, runtime, proofVerifier);
             case XUPERCHAIN:
             default:
                 break;
         }
         if (resource != null) {
-            this.resources.put(uri, resource);
+            this.resources.put(uri, limited(uri, resource));
         }
     }
 
@@ -47,7 +54,13 @@ public class ResourceRegistry {
     public void handleResourceRegisteredEvent(ResourceRegisteredOrUpdatedEvent resourceRegisteredEvent) {
         switch (resourceRegisteredEvent.getType()) {
             case FABRIC:
-                this.resources.compute(resourceRegisteredEvent.getUri(), (uri, val) -> new FabricResource(uri, Base64.getDecoder().decode(resourceRegisteredEvent.getConnection().toStringUtf8()), null, coordinator, config));
+                this.resources.compute(resourceRegisteredEvent.getUri(), (uri, val) -> {
+                    // release the listener checkpoints of the old connection before the new one takes them
+                    if (val != null) {
+                        val.close();
+                    }
+                    return limited(uri, new FabricResource(uri, Base64.getDecoder().decode(resourceRegisteredEvent.getConnection().toStringUtf8()), null, coordinator, config, runtime, proofVerifier));
+                });
                 break;
             case XUPERCHAIN:
             case BCOS:
@@ -57,6 +70,13 @@ public class ResourceRegistry {
         }
     }
 
+    private Resource limited(URI uri, Resource resource) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(uri.getNetwork() + "/" + uri.getChain(),
+            config.getResourceLimiterInitialLimit(), config.getResourceLimiterMaxLimit(), config.getResourceLimiterMaxQueueSize(),
+            config.getResourceLimiterMaxConfirmQueueSize());
+        return new LimitedResource(resource, limiter);
+    }
+
     @PreDestroy
     public void stop() {
         this.resources.forEach(this.resources.size(), (uri, resource) -> resource.close());
@@ -0,0 +1,84 @@
+package com.zhigui.crossmesh.mesher.resource;
+
+import com.zhigui.crossmesh.mesher.Config;
+import com.zhigui.crossmesh.mesher.HashedWheelTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Threads shared by every resource, so their number does not grow with the registered chains: the
+ * mesher timer, one bounded pool for the blocking chain calls and a smaller one, sized by
+ * mesher.coordinator.branch-confirm-thread-num, for branch confirm and rollback submissions, so a
+ * burst of prepares and proof fetches cannot starve the transactions that release locked state. A
+ * full pool rejects new calls, which the retry scheduler treats as transient.
+ */
+@Component
+public class ResourceRuntime {
+    private final HashedWheelTimer timer;
+
+    private final ThreadPoolExecutor ioPool;
+
+    private final ExecutorService ioExecutor;
+
+    private final ThreadPoolExecutor confirmPool;
+
+    private final ExecutorService confirmExecutor;
+
+    private final MeterRegistry meterRegistry;
+
+    public ResourceRuntime(Config config, HashedWheelTimer timer, MeterRegistry meterRegistry) {
+        this.timer = timer;
+        this.meterRegistry = meterRegistry;
+        this.ioPool = newPool("resource-io-", config.getResourceIoThreadNum(), config.getResourceIoQueueSize());
+        this.ioExecutor = ExecutorServiceMetrics.monitor(meterRegistry, this.ioPool, "mesher.resource.io");
+        this.confirmPool = newPool("resource-confirm-", Math.max(1, config.getBranchConfirmThreadNum()), config.getResourceIoQueueSize());
+        this.confirmExecutor = ExecutorServiceMetrics.monitor(meterRegistry, this.confirmPool, "mesher.resource.confirm");
+    }
+
+    private static ThreadPoolExecutor newPool(String namePrefix, int threadNum, int queueSize) {
+        AtomicInteger index = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threadNum, threadNum, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueSize), runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + index.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    public HashedWheelTimer getTimer() {
+        return timer;
+    }
+
+    /**
+     * @return the executor for blocking chain calls such as submitting and evaluating transactions
+     */
+    public ExecutorService getIoExecutor() {
+        return ioExecutor;
+    }
+
+    /**
+     * @return the executor for submitting branch confirm and rollback transactions
+     */
+    public ExecutorService getConfirmExecutor() {
+        return confirmExecutor;
+    }
+
+    public MeterRegistry getMeterRegistry() {
+        return meterRegistry;
+    }
+
+    @PreDestroy
+    public void stop() {
+        this.ioPool.shutdown();
+        this.confirmPool.shutdown();
+    }
+}
@@ -30,10 +30,16 @@ public class CrossContractListener implements Consumer<ContractEvent> {
 
     private final String contractName;
 
-    public CrossContractListener(String name, Coordinator coordinator, String contractName) {
+    private final FabricResource resource;
+
+    private final DurableCheckpointer checkpointer;
+
+    public CrossContractListener(String name, Coordinator coordinator, String contractName, FabricResource resource, DurableCheckpointer checkpointer) {
         this.name = name;
         this.coordinator = coordinator;
         this.contractName = contractName;
+        this.resource = resource;
+        this.checkpointer = checkpointer;
     }
 
     @Override
@@ -61,9 +67,9 @@ public class CrossContractListener implements Consumer<ContractEvent> {
                 primaryTransactionPreparedEventBuilder.getPrimaryConfirmTxBuilder().getInvocationBuilder().setContract(this.contractName);
                 primaryTransactionPreparedEventBuilder.getGlobalTxStatusQueryBuilder().setContract(this.contractName);
                 primaryTransactionPreparedEvent = primaryTransactionPreparedEventBuilder.build();
-                FabricResource fabricResourceForPrepare = (FabricResource) coordinator.getResourceRegistry().getResource(primaryTransactionPreparedEvent.getPrimaryPrepareTxId().getUri());
-                fabricResourceForPrepare.addTransactionEvent(contractEvent.getTransactionEvent().getTransactionID(), contractEvent.getTransactionEvent());
-                coordinator.handlePrimaryTransactionPrepared(primaryTransactionPreparedEventBuilder.build());
+                resource.addTransactionEvent(contractEvent.getTransactionEvent().getTransactionID(), contractEvent.getTransactionEvent());
+                this.checkpointer.track(contractEvent.getTransactionEvent().getTransactionID(),
+                    coordinator.handlePrimaryTransactionPrepared(primaryTransactionPreparedEvent));
                 break;
             case PRIMARY_TRANSACTION_CONFIRMED_EVENT:
                 if (!contractEvent.getTransactionEvent().isValid()) {
@@ -76,9 +82,9 @@ public class CrossContractListener implements Consumer<ContractEvent> {
                     LOGGER.error("parse primary tx confirmed event exception", e);
                     return;
                 }
-                FabricResource fabricResourceForConfirm = (FabricResource) coordinator.getResourceRegistry().getResource(primaryTransactionConfirmedEvent.getPrimaryConfirmTxId().getUri());
-                fabricResourceForConfirm.addTransactionEvent(contractEvent.getTransactionEvent().getTransactionID(), contractEvent.getTransactionEvent());
-                coordinator.handlePrimaryTransactionConfirmed(primaryTransactionConfirmedEvent);
+                resource.addTransactionEvent(contractEvent.getTransactionEvent().getTransactionID(), contractEvent.getTransactionEvent());
+                this.checkpointer.track(contractEvent.getTransactionEvent().getTransactionID(),
+                    coordinator.handlePrimaryTransactionConfirmed(primaryTransactionConfirmedEvent));
                 break;
             case BRANCH_TRANSACTION_PREPARED_EVENT:
                 BranchTransactionPreparedEvent branchTransactionPreparedEvent;
@@ -90,7 +96,8 @@ public class CrossContractListener implements Consumer<ContractEvent> {
                 }
                 BranchTransactionPreparedEvent.Builder branchTransactionPreparedEventBuilder = branchTransactionPreparedEvent.toBuilder();
                 branchTransactionPreparedEventBuilder.getConfirmTxBuilder().getInvocationBuilder().setContract(this.contractName);
-                coordinator.handleBranchTransactionPrepared(branchTransactionPreparedEventBuilder.build());
+                this.checkpointer.track(contractEvent.getTransactionEvent().getTransactionID(),
+                    coordinator.handleBranchTransactionPrepared(branchTransactionPreparedEventBuilder.build()));
                 break;
             case RESOURCE_REGISTERED_EVENT:
                 ResourceRegisteredOrUpdatedEvent resourceRegisteredOrUpdatedEvent;
@@ -0,0 +1,245 @@
+package com.zhigui.crossmesh.mesher.resource.fabric;
+
+import org.hyperledger.fabric.gateway.spi.Checkpointer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Checkpoint of a contract listener that only advances past an event once the mesher has durably
+ * recorded it, in the monitor log or on chain. The gateway sees the progress of the listener as
+ * usual, while the file holds a low-watermark: the first block with an event not recorded yet and
+ * the transactions of that block already recorded. A listener attached after a restart replays
+ * from there, events recorded in later blocks are delivered again and dropped as duplicates.
+ * <p>
+ * Events whose recording failed hold the watermark back until the mesher restarts and replays them.
+ * Once closed the file is no longer written, events still being recorded are replayed by the next
+ * owner of the checkpoint.
+ */
+public class DurableCheckpointer implements Checkpointer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DurableCheckpointer.class);
+
+    private static final String TMP_SUFFIX = ".tmp";
+
+    private static final String LOCK_SUFFIX = ".lock";
+
+    private final Path file;
+
+    private final FileChannel lockChannel;
+
+    private final FileLock lock;
+
+    private long blockNumber;
+
+    private final Set<String> transactionIds;
+
+    /**
+     * Blocks with events not durably recorded yet, with the transactions of the block seen so far.
+     */
+    private final TreeMap<Long, UnrecordedBlock> unrecordedBlocks;
+
+    private long durableBlockNumber;
+
+    private Set<String> durableTransactionIds;
+
+    private boolean closed;
+
+    public DurableCheckpointer(Path file) throws IOException {
+        this.file = file;
+        Files.createDirectories(file.getParent());
+        this.lockChannel = FileChannel.open(file.resolveSibling(file.getFileName() + LOCK_SUFFIX), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = this.lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // held by another listener in this process
+            lock = null;
+        }
+        this.lock = lock;
+        if (this.lock == null) {
+            this.lockChannel.close();
+            throw new IOException("checkpoint " + file + " is in use");
+        }
+        this.transactionIds = new HashSet<>();
+        this.unrecordedBlocks = new TreeMap<>();
+        this.blockNumber = UNSET_BLOCK_NUMBER;
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file); DataInputStream data = new DataInputStream(in)) {
+                this.blockNumber = data.readLong();
+                int count = data.readInt();
+                for (int i = 0; i < count; i++) {
+                    this.transactionIds.add(data.readUTF());
+                }
+            }
+        }
+        this.durableBlockNumber = this.blockNumber;
+        this.durableTransactionIds = new HashSet<>(this.transactionIds);
+    }
+
+    @Override
+    public synchronized long getBlockNumber() {
+        return this.blockNumber;
+    }
+
+    @Override
+    public synchronized void setBlockNumber(long blockNumber) throws IOException {
+        if (blockNumber != this.blockNumber) {
+            this.blockNumber = blockNumber;
+            this.transactionIds.clear();
+        }
+        persist();
+    }
+
+    @Override
+    public synchronized Set<String> getTransactionIds() {
+        return Collections.unmodifiableSet(new HashSet<>(this.transactionIds));
+    }
+
+    @Override
+    public synchronized void addTransactionId(String transactionId) {
+        this.transactionIds.add(transactionId);
+        UnrecordedBlock block = this.unrecordedBlocks.get(this.blockNumber);
+        if (block != null) {
+            block.seen.add(transactionId);
+        }
+    }
+
+    /**
+     * Hold the watermark at the current block until the event of the transaction is durably recorded.
+     * Called by the listener while the gateway delivers the event, so the start block is set.
+     *
+     * @param recorded completes once the event is recorded, a failure keeps it unrecorded
+     * @throws IllegalStateException if no start block was set, the event would not be replayed
+     */
+    public void track(String transactionId, CompletableFuture<?> recorded) {
+        long block;
+        synchronized (this) {
+            if (this.blockNumber == UNSET_BLOCK_NUMBER) {
+                throw new IllegalStateException("checkpoint " + this.file + " has no start block");
+            }
+            block = this.blockNumber;
+            this.unrecordedBlocks.computeIfAbsent(block, number -> new UnrecordedBlock(this.transactionIds)).pending.merge(transactionId, 1, Integer::sum);
+        }
+        recorded.whenComplete((v, throwable) -> {
+            if (throwable != null) {
+                LOGGER.error("event of tx {} in block {} not recorded, checkpoint {} held back until restart", transactionId, block, this.file, throwable);
+                return;
+            }
+            recorded(block, transactionId);
+        });
+    }
+
+    private synchronized void recorded(long blockNumber, String transactionId) {
+        UnrecordedBlock block = this.unrecordedBlocks.get(blockNumber);
+        if (block == null) {
+            return;
+        }
+        block.pending.computeIfPresent(transactionId, (txId, count) -> count > 1 ? count - 1 : null);
+        if (!block.pending.isEmpty()) {
+            return;
+        }
+        this.unrecordedBlocks.remove(blockNumber);
+        try {
+            persist();
+        } catch (IOException e) {
+            LOGGER.error("persist checkpoint {} failed", this.file, e);
+        }
+    }
+
+    /**
+     * Write the watermark to a temp file, force it and move it over the checkpoint, unless it has not
+     * moved since the last write.
+     */
+    private void persist() throws IOException {
+        if (this.closed) {
+            // the file belongs to whoever locks it next
+            return;
+        }
+        if (this.blockNumber == UNSET_BLOCK_NUMBER) {
+            // an unset checkpoint would be taken for a first start
+            return;
+        }
+        long block;
+        Set<String> recorded;
+        Map.Entry<Long, UnrecordedBlock> first = this.unrecordedBlocks.firstEntry();
+        if (first != null && first.getKey() <= this.blockNumber) {
+            block = first.getKey();
+            recorded = new HashSet<>(first.getValue().seen);
+            recorded.removeAll(first.getValue().pending.keySet());
+        } else {
+            block = this.blockNumber;
+            recorded = new HashSet<>(this.transactionIds);
+        }
+        if (block == this.durableBlockNumber && recorded.equals(this.durableTransactionIds)) {
+            return;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream data = new DataOutputStream(bytes)) {
+            data.writeLong(block);
+            data.writeInt(recorded.size());
+            for (String transactionId : recorded) {
+                data.writeUTF(transactionId);
+            }
+        }
+        Path tmp = this.file.resolveSibling(this.file.getFileName() + TMP_SUFFIX);
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(true);
+        }
+        Files.move(tmp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        this.durableBlockNumber = block;
+        this.durableTransactionIds = recorded;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        try {
+            this.lock.release();
+        } finally {
+            this.lockChannel.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DurableCheckpointer{" + this.file + "}";
+    }
+
+    private static final class UnrecordedBlock {
+        private final Set<String> seen;
+
+        private final Map<String, Integer> pending;
+
+        UnrecordedBlock(Set<String> seen) {
+            this.seen = new HashSet<>(seen);
+            this.pending = new HashMap<>();
+        }
+    }
+}
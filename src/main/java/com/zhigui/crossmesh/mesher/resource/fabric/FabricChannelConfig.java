@@ -0,0 +1,351 @@
+package com.zhigui.crossmesh.mesher.resource.fabric;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.hyperledger.fabric.protos.common.Configtx;
+import org.hyperledger.fabric.protos.common.MspPrincipal;
+import org.hyperledger.fabric.protos.common.Policies;
+import org.hyperledger.fabric.protos.msp.Identities;
+import org.hyperledger.fabric.protos.msp.MspConfigPackage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.naming.InvalidNameException;
+import javax.naming.ldap.LdapName;
+import javax.naming.ldap.Rdn;
+import java.io.ByteArrayInputStream;
+import java.security.GeneralSecurityException;
+import java.security.cert.CertPathValidator;
+import java.security.cert.CertStore;
+import java.security.cert.CertificateFactory;
+import java.security.cert.CollectionCertStoreParameters;
+import java.security.cert.PKIXParameters;
+import java.security.cert.TrustAnchor;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Membership and policies of a Fabric channel, parsed from its config: the MSP of each application
+ * organization, which endorser certificates must chain to, and the policy tree a chaincode
+ * endorsement policy may refer to. Policies are evaluated the way the peers validate a transaction,
+ * each endorser satisfies at most one principal of a signature policy.
+ */
+public final class FabricChannelConfig {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FabricChannelConfig.class);
+
+    private static final String CHANNEL_GROUP = "Channel";
+
+    private static final String APPLICATION_GROUP = "Application";
+
+    private static final String MSP_VALUE = "MSP";
+
+    private static final int FABRIC_MSP_TYPE = 0;
+
+    private final Configtx.ConfigGroup channelGroup;
+
+    private final Map<String, Msp> msps;
+
+    private FabricChannelConfig(Configtx.ConfigGroup channelGroup, Map<String, Msp> msps) {
+        this.channelGroup = channelGroup;
+        this.msps = msps;
+    }
+
+    /**
+     * @param config a serialized {@link Configtx.Config}, as returned by the channel
+     */
+    public static FabricChannelConfig parse(byte[] config) throws InvalidProtocolBufferException, GeneralSecurityException {
+        Configtx.ConfigGroup channelGroup = Configtx.Config.parseFrom(config).getChannelGroup();
+        Map<String, Msp> msps = new HashMap<>();
+        Configtx.ConfigGroup application = channelGroup.getGroupsMap().get(APPLICATION_GROUP);
+        if (application != null) {
+            for (Configtx.ConfigGroup org : application.getGroupsMap().values()) {
+                Configtx.ConfigValue value = org.getValuesMap().get(MSP_VALUE);
+                if (value == null) {
+                    continue;
+                }
+                MspConfigPackage.MSPConfig mspConfig = MspConfigPackage.MSPConfig.parseFrom(value.getValue());
+                if (mspConfig.getType() != FABRIC_MSP_TYPE) {
+                    continue;
+                }
+                Msp msp = new Msp(MspConfigPackage.FabricMSPConfig.parseFrom(mspConfig.getConfig()));
+                msps.put(msp.name, msp);
+            }
+        }
+        return new FabricChannelConfig(channelGroup, msps);
+    }
+
+    /**
+     * @return whether the certificate chains to the root certificates of the MSP it claims
+     */
+    public boolean isValid(String mspId, X509Certificate certificate) {
+        Msp msp = this.msps.get(mspId);
+        if (msp == null) {
+            LOGGER.warn("MSP {} is not a member of the channel", mspId);
+            return false;
+        }
+        return msp.isValid(certificate);
+    }
+
+    /**
+     * @param endorsers endorsers with a valid signature and certificate, see {@link #isValid}
+     */
+    public boolean isSatisfiedBy(Policies.ApplicationPolicy policy, List<Endorser> endorsers) {
+        switch (policy.getTypeCase()) {
+            case SIGNATURE_POLICY:
+                return isSatisfiedBy(policy.getSignaturePolicy(), endorsers);
+            case CHANNEL_CONFIG_POLICY_REFERENCE:
+                return isSatisfiedBy(policy.getChannelConfigPolicyReference(), endorsers);
+            default:
+                LOGGER.warn("unsupported endorsement policy {}", policy.getTypeCase());
+                return false;
+        }
+    }
+
+    /**
+     * A reference is either absolute, such as /Channel/Application/Endorsement, or relative to the
+     * application group.
+     */
+    private boolean isSatisfiedBy(String reference, List<Endorser> endorsers) {
+        List<String> path = new ArrayList<>();
+        if (reference.startsWith("/")) {
+            path.addAll(Arrays.asList(reference.substring(1).split("/")));
+            if (path.isEmpty() || !CHANNEL_GROUP.equals(path.remove(0))) {
+                LOGGER.warn("policy {} is not a channel policy", reference);
+                return false;
+            }
+        } else {
+            path.add(APPLICATION_GROUP);
+            path.addAll(Arrays.asList(reference.split("/")));
+        }
+        Configtx.ConfigGroup group = this.channelGroup;
+        for (String name : path.subList(0, path.size() - 1)) {
+            group = group.getGroupsMap().get(name);
+            if (group == null) {
+                LOGGER.warn("policy {} not found in channel config", reference);
+                return false;
+            }
+        }
+        Configtx.ConfigPolicy policy = group.getPoliciesMap().get(path.get(path.size() - 1));
+        if (policy == null) {
+            LOGGER.warn("policy {} not found in channel config", reference);
+            return false;
+        }
+        return isSatisfiedBy(group, policy.getPolicy(), endorsers);
+    }
+
+    private boolean isSatisfiedBy(Configtx.ConfigGroup group, Policies.Policy policy, List<Endorser> endorsers) {
+        try {
+            if (policy.getType() == Policies.Policy.PolicyType.SIGNATURE_VALUE) {
+                return isSatisfiedBy(Policies.SignaturePolicyEnvelope.parseFrom(policy.getValue()), endorsers);
+            }
+            if (policy.getType() == Policies.Policy.PolicyType.IMPLICIT_META_VALUE) {
+                return isSatisfiedBy(group, Policies.ImplicitMetaPolicy.parseFrom(policy.getValue()), endorsers);
+            }
+        } catch (InvalidProtocolBufferException e) {
+            LOGGER.warn("malformed channel policy", e);
+            return false;
+        }
+        LOGGER.warn("unsupported channel policy type {}", policy.getType());
+        return false;
+    }
+
+    /**
+     * The sub policy of every child group with one counts once, as on the peers: ANY needs one of
+     * them, ALL every one and MAJORITY more than half.
+     */
+    private boolean isSatisfiedBy(Configtx.ConfigGroup group, Policies.ImplicitMetaPolicy policy, List<Endorser> endorsers) {
+        int subPolicies = 0;
+        int satisfied = 0;
+        for (Configtx.ConfigGroup child : group.getGroupsMap().values()) {
+            Configtx.ConfigPolicy subPolicy = child.getPoliciesMap().get(policy.getSubPolicy());
+            if (subPolicy == null) {
+                continue;
+            }
+            subPolicies++;
+            if (isSatisfiedBy(child, subPolicy.getPolicy(), endorsers)) {
+                satisfied++;
+            }
+        }
+        switch (policy.getRule()) {
+            case ANY:
+                return satisfied >= 1;
+            case ALL:
+                return satisfied == subPolicies;
+            case MAJORITY:
+                return satisfied >= subPolicies / 2 + 1;
+            default:
+                LOGGER.warn("unsupported implicit meta rule {}", policy.getRule());
+                return false;
+        }
+    }
+
+    private boolean isSatisfiedBy(Policies.SignaturePolicyEnvelope envelope, List<Endorser> endorsers) {
+        return isSatisfiedBy(envelope.getRule(), envelope.getIdentitiesList(), endorsers, new boolean[endorsers.size()]);
+    }
+
+    /**
+     * @param used endorsers already taken by another principal of the policy, updated only when the
+     *             rule is satisfied
+     */
+    private boolean isSatisfiedBy(Policies.SignaturePolicy rule, List<MspPrincipal.MSPPrincipal> principals, List<Endorser> endorsers, boolean[] used) {
+        switch (rule.getTypeCase()) {
+            case SIGNED_BY:
+                if (rule.getSignedBy() < 0 || rule.getSignedBy() >= principals.size()) {
+                    LOGGER.warn("policy refers to unknown principal {}", rule.getSignedBy());
+                    return false;
+                }
+                MspPrincipal.MSPPrincipal principal = principals.get(rule.getSignedBy());
+                for (int i = 0; i < endorsers.size(); i++) {
+                    if (!used[i] && satisfies(endorsers.get(i), principal)) {
+                        used[i] = true;
+                        return true;
+                    }
+                }
+                return false;
+            case N_OUT_OF:
+                int verified = 0;
+                boolean[] attempt = new boolean[used.length];
+                for (Policies.SignaturePolicy subRule : rule.getNOutOf().getRulesList()) {
+                    System.arraycopy(used, 0, attempt, 0, used.length);
+                    if (isSatisfiedBy(subRule, principals, endorsers, attempt)) {
+                        verified++;
+                        System.arraycopy(attempt, 0, used, 0, used.length);
+                    }
+                }
+                return verified >= rule.getNOutOf().getN();
+            default:
+                return false;
+        }
+    }
+
+    private boolean satisfies(Endorser endorser, MspPrincipal.MSPPrincipal principal) {
+        try {
+            switch (principal.getPrincipalClassification()) {
+                case ROLE:
+                    MspPrincipal.MSPRole role = MspPrincipal.MSPRole.parseFrom(principal.getPrincipal());
+                    Msp msp = this.msps.get(role.getMspIdentifier());
+                    return msp != null && role.getMspIdentifier().equals(endorser.mspId) && msp.hasRole(endorser.certificate, role.getRole());
+                case IDENTITY:
+                    Identities.SerializedIdentity identity = Identities.SerializedIdentity.parseFrom(principal.getPrincipal());
+                    return identity.getMspid().equals(endorser.mspId)
+                        && Arrays.equals(parseCertificate(identity.getIdBytes()).getEncoded(), endorser.certificate.getEncoded());
+                default:
+                    LOGGER.warn("unsupported principal classification {}", principal.getPrincipalClassification());
+                    return false;
+            }
+        } catch (InvalidProtocolBufferException | GeneralSecurityException e) {
+            LOGGER.warn("malformed policy principal", e);
+            return false;
+        }
+    }
+
+    private static X509Certificate parseCertificate(ByteString pem) throws GeneralSecurityException {
+        return (X509Certificate) CertificateFactory.getInstance("X.509").generateCertificate(new ByteArrayInputStream(pem.toByteArray()));
+    }
+
+    /**
+     * An endorser whose signature is valid, identified by the MSP it claims.
+     */
+    public static final class Endorser {
+        private final String mspId;
+
+        private final X509Certificate certificate;
+
+        public Endorser(String mspId, X509Certificate certificate) {
+            this.mspId = mspId;
+            this.certificate = certificate;
+        }
+
+        public String getMspId() {
+            return mspId;
+        }
+    }
+
+    /**
+     * The certificates of an organization: its roots and intermediates to validate a chain, its
+     * admins and, when node OUs are enabled, the OUs that tell peers, clients, admins and orderers apart.
+     */
+    private static final class Msp {
+        private final String name;
+
+        private final PKIXParameters parameters;
+
+        private final Set<ByteString> admins;
+
+        private final Map<MspPrincipal.MSPRole.MSPRoleType, String> nodeOus;
+
+        Msp(MspConfigPackage.FabricMSPConfig config) throws GeneralSecurityException {
+            this.name = config.getName();
+            Set<TrustAnchor> roots = new HashSet<>();
+            for (ByteString root : config.getRootCertsList()) {
+                roots.add(new TrustAnchor(parseCertificate(root), null));
+            }
+            if (roots.isEmpty()) {
+                throw new GeneralSecurityException("MSP " + this.name + " has no root certificate");
+            }
+            List<X509Certificate> intermediates = new ArrayList<>();
+            for (ByteString intermediate : config.getIntermediateCertsList()) {
+                intermediates.add(parseCertificate(intermediate));
+            }
+            this.parameters = new PKIXParameters(roots);
+            // revocation lists are not distributed to the mesher
+            this.parameters.setRevocationEnabled(false);
+            this.parameters.addCertStore(CertStore.getInstance("Collection", new CollectionCertStoreParameters(intermediates)));
+            this.admins = new HashSet<>();
+            for (ByteString admin : config.getAdminsList()) {
+                this.admins.add(ByteString.copyFrom(parseCertificate(admin).getEncoded()));
+            }
+            this.nodeOus = new HashMap<>();
+            if (config.hasFabricNodeOus() && config.getFabricNodeOus().getEnable()) {
+                MspConfigPackage.FabricNodeOUs ous = config.getFabricNodeOus();
+                this.nodeOus.put(MspPrincipal.MSPRole.MSPRoleType.CLIENT, ous.getClientOuIdentifier().getOrganizationalUnitIdentifier());
+                this.nodeOus.put(MspPrincipal.MSPRole.MSPRoleType.PEER, ous.getPeerOuIdentifier().getOrganizationalUnitIdentifier());
+                this.nodeOus.put(MspPrincipal.MSPRole.MSPRoleType.ADMIN, ous.getAdminOuIdentifier().getOrganizationalUnitIdentifier());
+                this.nodeOus.put(MspPrincipal.MSPRole.MSPRoleType.ORDERER, ous.getOrdererOuIdentifier().getOrganizationalUnitIdentifier());
+            }
+        }
+
+        boolean isValid(X509Certificate certificate) {
+            try {
+                CertificateFactory factory = CertificateFactory.getInstance("X.509");
+                CertPathValidator.getInstance("PKIX").validate(factory.generateCertPath(Collections.singletonList(certificate)), this.parameters);
+                return true;
+            } catch (GeneralSecurityException e) {
+                LOGGER.warn("certificate {} does not chain to MSP {}", certificate.getSubjectX500Principal(), this.name, e);
+                return false;
+            }
+        }
+
+        boolean hasRole(X509Certificate certificate, MspPrincipal.MSPRole.MSPRoleType role) throws GeneralSecurityException {
+            if (role == MspPrincipal.MSPRole.MSPRoleType.MEMBER) {
+                return true;
+            }
+            if (role == MspPrincipal.MSPRole.MSPRoleType.ADMIN && this.admins.contains(ByteString.copyFrom(certificate.getEncoded()))) {
+                return true;
+            }
+            String ou = this.nodeOus.get(role);
+            return ou != null && organizationalUnits(certificate).contains(ou);
+        }
+
+        private static Set<String> organizationalUnits(X509Certificate certificate) {
+            Set<String> ous = new HashSet<>();
+            try {
+                for (Rdn rdn : new LdapName(certificate.getSubjectX500Principal().getName()).getRdns()) {
+                    if ("OU".equalsIgnoreCase(rdn.getType())) {
+                        ous.add(rdn.getValue().toString());
+                    }
+                }
+            } catch (InvalidNameException e) {
+                LOGGER.warn("malformed subject {}", certificate.getSubjectX500Principal(), e);
+            }
+            return ous;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.zhigui.crossmesh.mesher.resource.fabric;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.zhigui.crossmesh.mesher.Config;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hyperledger.fabric.protos.common.Policies;
+import org.hyperledger.fabric.protos.msp.Identities;
+import org.hyperledger.fabric.protos.peer.ProposalPackage;
+import org.hyperledger.fabric.protos.peer.ProposalResponsePackage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.ByteArrayInputStream;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.security.interfaces.ECPublicKey;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.zhigui.crossmesh.proto.Types.Proof;
+
+/**
+ * Checks Fabric proofs locally before they are handed to other chains, so a bad proof fails fast
+ * instead of after a full endorse, order and commit round trip on the branch chain. The endorsement
+ * signatures are verified in parallel, with the parsed endorser certificates cached.
+ * <p>
+ * An endorser counts only if its certificate chains to the root certificates of the MSP it claims
+ * in the config of the channel the proof comes from, and the endorsers must satisfy the endorsement
+ * policy of the chaincode, as on the peers validating the transaction. The channel config and the
+ * policies are fetched and cached by the resource of the channel, see {@link ChannelPolicies}.
+ * <p>
+ * The coordinator only checks proofs before branches are prepared. A proof this check rejects by
+ * mistake must not block the confirm of a primary that is already final.
+ */
+@Component
+public class FabricProofVerifier {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FabricProofVerifier.class);
+
+    private static final int PROOF_VERSION = 1;
+
+    private final boolean enabled;
+
+    private final ExecutorService verifyExecutor;
+
+    private final Cache<ByteString, X509Certificate> certificates;
+
+    private final Counter validProofs;
+
+    private final Counter invalidProofs;
+
+    public FabricProofVerifier(Config config, MeterRegistry meterRegistry) {
+        this.enabled = config.isProofVerifyEnabled();
+        int threadNum = config.getProofVerifyThreadNum() > 0 ? config.getProofVerifyThreadNum() : Runtime.getRuntime().availableProcessors();
+        AtomicInteger index = new AtomicInteger();
+        this.verifyExecutor = Executors.newFixedThreadPool(threadNum, runnable -> {
+            Thread thread = new Thread(runnable, "proof-verify-" + index.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.certificates = Caffeine.newBuilder()
+            .maximumSize(config.getProofCertificateCacheSize())
+            .build();
+        this.validProofs = meterRegistry.counter("mesher.proof.verify", "result", "valid");
+        this.invalidProofs = meterRegistry.counter("mesher.proof.verify", "result", "invalid");
+    }
+
+    /**
+     * @param encodedProof base64 of a {@link Proof} message
+     * @param policies     membership and endorsement policies of the channel the proof comes from
+     * @return whether the proof is well formed and its endorsements satisfy the endorsement policy,
+     * fails if the channel config or the policy cannot be fetched
+     */
+    public CompletableFuture<Boolean> verify(String encodedProof, ChannelPolicies policies) {
+        if (!this.enabled) {
+            return CompletableFuture.completedFuture(true);
+        }
+        Proof proof;
+        String chaincode;
+        try {
+            proof = Proof.parseFrom(Base64.getDecoder().decode(encodedProof));
+            ProposalResponsePackage.ProposalResponsePayload payload = ProposalResponsePackage.ProposalResponsePayload.parseFrom(proof.getProposalResponsePayload());
+            chaincode = ProposalPackage.ChaincodeAction.parseFrom(payload.getExtension()).getChaincodeId().getName();
+        } catch (IllegalArgumentException | InvalidProtocolBufferException e) {
+            LOGGER.warn("malformed proof", e);
+            return CompletableFuture.completedFuture(record(false));
+        }
+        if (proof.getVersion() != PROOF_VERSION) {
+            LOGGER.warn("unsupported proof version {}", proof.getVersion());
+            return CompletableFuture.completedFuture(record(false));
+        }
+
+        return policies.getChannelConfig().thenCompose(channelConfig -> {
+            List<CompletableFuture<FabricChannelConfig.Endorser>> endorsers = new ArrayList<>(proof.getEndorsementsCount());
+            for (Proof.Endorsement endorsement : proof.getEndorsementsList()) {
+                endorsers.add(CompletableFuture.supplyAsync(() -> verifyEndorsement(channelConfig, proof.getProposalResponsePayload(), endorsement), this.verifyExecutor));
+            }
+            return CompletableFuture.allOf(endorsers.toArray(new CompletableFuture[0]))
+                .thenCombine(policies.getEndorsementPolicy(chaincode), (v, policy) -> {
+                    List<FabricChannelConfig.Endorser> valid = new ArrayList<>();
+                    Set<ByteString> seen = new HashSet<>();
+                    for (int i = 0; i < endorsers.size(); i++) {
+                        // an endorser signing twice still counts once
+                        if (endorsers.get(i).join() != null && seen.add(proof.getEndorsements(i).getEndorser())) {
+                            valid.add(endorsers.get(i).join());
+                        }
+                    }
+                    if (!channelConfig.isSatisfiedBy(policy, valid)) {
+                        LOGGER.warn("{} valid endorsements do not satisfy the endorsement policy of chaincode {}", valid.size(), chaincode);
+                        return record(false);
+                    }
+                    return record(true);
+                });
+        });
+    }
+
+    /**
+     * @return the endorser if the signature over the payload and endorser is valid and its
+     * certificate chains to its MSP, null otherwise
+     */
+    private FabricChannelConfig.Endorser verifyEndorsement(FabricChannelConfig channelConfig, ByteString proposalResponsePayload, Proof.Endorsement endorsement) {
+        try {
+            Identities.SerializedIdentity endorser = Identities.SerializedIdentity.parseFrom(endorsement.getEndorser());
+            X509Certificate certificate = this.certificates.get(endorsement.getEndorser(), key -> parseCertificate(endorser.getIdBytes()));
+            if (!channelConfig.isValid(endorser.getMspid(), certificate)) {
+                return null;
+            }
+            Signature signature = Signature.getInstance(signatureAlgorithm(certificate.getPublicKey()));
+            signature.initVerify(certificate.getPublicKey());
+            signature.update(proposalResponsePayload.toByteArray());
+            signature.update(endorsement.getEndorser().toByteArray());
+            if (signature.verify(endorsement.getSignature().toByteArray())) {
+                return new FabricChannelConfig.Endorser(endorser.getMspid(), certificate);
+            }
+            LOGGER.warn("invalid endorsement signature of {}", endorser.getMspid());
+        } catch (InvalidProtocolBufferException | GeneralSecurityException | RuntimeException e) {
+            LOGGER.warn("verify endorsement failed", e);
+        }
+        return null;
+    }
+
+    /**
+     * Fabric hashes with the hash family of the MSP security level, SHA-384 for P-384 keys.
+     */
+    private static String signatureAlgorithm(PublicKey publicKey) {
+        if (publicKey instanceof ECPublicKey) {
+            return ((ECPublicKey) publicKey).getParams().getCurve().getField().getFieldSize() > 256 ? "SHA384withECDSA" : "SHA256withECDSA";
+        }
+        return "SHA256withRSA";
+    }
+
+    private static X509Certificate parseCertificate(ByteString pem) {
+        try {
+            return (X509Certificate) CertificateFactory.getInstance("X.509").generateCertificate(new ByteArrayInputStream(pem.toByteArray()));
+        } catch (CertificateException e) {
+            throw new IllegalArgumentException("invalid endorser certificate", e);
+        }
+    }
+
+    private boolean record(boolean valid) {
+        (valid ? this.validProofs : this.invalidProofs).increment();
+        return valid;
+    }
+
+    @PreDestroy
+    public void stop() {
+        this.verifyExecutor.shutdown();
+    }
+
+    /**
+     * The channel config and chaincode endorsement policies a proof is checked against.
+     */
+    public interface ChannelPolicies {
+        CompletableFuture<FabricChannelConfig> getChannelConfig();
+
+        CompletableFuture<Policies.ApplicationPolicy> getEndorsementPolicy(String chaincode);
+    }
+}
@@ -1,14 +1,23 @@
 package com.zhigui.crossmesh.mesher.resource.fabric;
 
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.zhigui.crossmesh.mesher.Config;
 import com.zhigui.crossmesh.mesher.Coordinator;
+import com.zhigui.crossmesh.mesher.Deadline;
+import com.zhigui.crossmesh.mesher.HashedWheelTimer;
+import com.zhigui.crossmesh.mesher.resource.BranchTransactionException;
+import com.zhigui.crossmesh.mesher.resource.Priority;
 import com.zhigui.crossmesh.mesher.resource.Resource;
-import org.apache.commons.codec.binary.Hex;
+import com.zhigui.crossmesh.mesher.resource.ResourceRuntime;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.hyperledger.fabric.gateway.Contract;
+import org.hyperledger.fabric.gateway.ContractEvent;
 import org.hyperledger.fabric.gateway.ContractException;
 import org.hyperledger.fabric.gateway.Gateway;
 import org.hyperledger.fabric.gateway.GatewayRuntimeException;
@@ -16,17 +25,27 @@ import org.hyperledger.fabric.gateway.Network;
 import org.hyperledger.fabric.gateway.Transaction;
 import org.hyperledger.fabric.gateway.Wallet;
 import org.hyperledger.fabric.gateway.Wallets;
+import org.hyperledger.fabric.gateway.impl.GatewayImpl;
+import org.hyperledger.fabric.gateway.spi.Checkpointer;
 import org.hyperledger.fabric.protos.common.Common;
-import org.hyperledger.fabric.protos.msp.Identities;
-import org.hyperledger.fabric.protos.peer.ProposalPackage;
+import org.hyperledger.fabric.protos.common.Policies;
 import org.hyperledger.fabric.protos.peer.ProposalResponsePackage;
 import org.hyperledger.fabric.protos.peer.TransactionPackage;
+import org.hyperledger.fabric.sdk.BlockEvent;
 import org.hyperledger.fabric.sdk.BlockEvent.TransactionEvent;
 import org.hyperledger.fabric.sdk.BlockInfo.TransactionEnvelopeInfo.TransactionActionInfo;
+import org.hyperledger.fabric.sdk.ChaincodeEvent;
+import org.hyperledger.fabric.sdk.ChaincodeResponse;
+import org.hyperledger.fabric.sdk.Channel;
+import org.hyperledger.fabric.sdk.HFClient;
+import org.hyperledger.fabric.sdk.LifecycleQueryChaincodeDefinitionProposalResponse;
+import org.hyperledger.fabric.sdk.Peer;
+import org.hyperledger.fabric.sdk.QueryLifecycleQueryChaincodeDefinitionRequest;
 import org.hyperledger.fabric.sdk.TransactionInfo;
 import org.hyperledger.fabric.sdk.exception.InvalidArgumentException;
 import org.hyperledger.fabric.sdk.exception.InvalidProtocolBufferRuntimeException;
 import org.hyperledger.fabric.sdk.exception.ProposalException;
+import org.hyperledger.fabric.sdk.exception.TransactionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,58 +54,162 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.HashSet;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.concurrent.TimeoutException;
 
 import static com.zhigui.crossmesh.proto.Types.BranchTransaction;
 import static com.zhigui.crossmesh.proto.Types.BranchTransactionResponse;
 import static com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus;
+import static com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusList;
 import static com.zhigui.crossmesh.proto.Types.Invocation;
+import static com.zhigui.crossmesh.proto.Types.Proof;
 import static com.zhigui.crossmesh.proto.Types.TransactionID;
 import static com.zhigui.crossmesh.proto.Types.URI;
 
 public class FabricResource implements Resource {
     private static final Logger LOGGER = LoggerFactory.getLogger(FabricResource.class);
 
+    private static final long PROOF_TIMEOUT_SECONDS = 30;
+
+    private static final int PROOF_VERSION = 1;
+
+    private static final int BLOCK_PAYLOADS_CACHE_SIZE = 16;
+
     private final String selfNetwork;
 
     private final String baseUrl;
 
+    private final String checkpointDir;
+
+    private final List<Checkpointer> checkpointers;
+
     private final URI uri;
 
+    private Gateway gateway;
+
     private Network network;
 
-    private final ConcurrentHashMap<String, CompletableFuture<TransactionEvent>> transactionResults;
+    private Consumer<BlockEvent> blockListener;
+
+    private final Map<Contract, Consumer<ContractEvent>> contractListeners;
+
+    private volatile boolean listened;
+
+    /**
+     * Block height of the chain when each contract last emitted an event.
+     */
+    private final ConcurrentHashMap<String, Long> eventHeights;
+
+    /**
+     * Proofs of the cross contract transactions seen by the listener and of the transactions fetched
+     * since, kept until they are evicted by size or age since most of them are never asked for. It is
+     * the only proof cache, the coordinator and the monitor both fetch proofs through it, and
+     * concurrent fetches of a proof not cached yet share one future in proofFutures.
+     */
+    private final Cache<String, String> transactionProofs;
+
+    private final TerminalStatusCache terminalStatuses;
+
+    private final ConcurrentHashMap<Invocation, CompletableFuture<GlobalTransactionStatus>> statusQueries;
 
     private final Coordinator coordinator;
 
-    private final ScheduledExecutorService scheduledExecutorService;
+    private final ExecutorService ioExecutor;
+
+    private final ExecutorService confirmExecutor;
+
+    private final HashedWheelTimer timer;
+
+    private final FabricProofVerifier proofVerifier;
+
+    private final ConcurrentHashMap<String, CompletableFuture<String>> proofFutures;
+
+    /**
+     * Membership and chaincode endorsement policies of the channel that proofs are verified against,
+     * fetched from the peers and refreshed every mesher.proof.policy-cache-seconds, so an
+     * organization joining or a CA being renewed is picked up without a restart.
+     */
+    private final AsyncLoadingCache<String, FabricChannelConfig> channelConfigs;
+
+    private final AsyncLoadingCache<String, Policies.ApplicationPolicy> endorsementPolicies;
+
+    /**
+     * Envelope payloads of the last few blocks by block number, shared by the block listener and
+     * the contract listeners so a block is parsed once.
+     */
+    private final Cache<Long, Map<String, Common.Payload>> blockPayloads;
+
+    private final int proofCatchUpAttempts;
 
-    private final ConcurrentHashMap<String, ScheduledFuture<?>> proofFutures;
+    private final long proofCatchUpIntervalMillis;
 
-    public FabricResource(URI uri, byte[] connection, Path connPath, Coordinator coordinator, Config config) {
+    public FabricResource(URI uri, byte[] connection, Path connPath, Coordinator coordinator, Config config, ResourceRuntime runtime, FabricProofVerifier proofVerifier) {
         this.coordinator = coordinator;
         this.selfNetwork = config.getSelfNetwork();
         this.baseUrl = config.getIdBasePath();
+        this.checkpointDir = config.getCheckpointDir();
+        this.checkpointers = new CopyOnWriteArrayList<>();
+        this.contractListeners = new ConcurrentHashMap<>();
         this.uri = uri;
-        this.transactionResults = new ConcurrentHashMap<>();
-        this.scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+        this.transactionProofs = Caffeine.newBuilder()
+            .maximumSize(config.getTransactionProofCacheMaxSize())
+            .expireAfterWrite(config.getTransactionProofCacheExpireSeconds(), TimeUnit.SECONDS)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(runtime.getMeterRegistry(), this.transactionProofs, "mesher.fabric.transaction.proofs",
+            "network", uri.getNetwork(), "chain", uri.getChain());
+        this.blockPayloads = Caffeine.newBuilder()
+            .maximumSize(BLOCK_PAYLOADS_CACHE_SIZE)
+            .build();
+        this.terminalStatuses = new TerminalStatusCache(config.getGlobalTxStatusCacheMaxSize(), runtime.getMeterRegistry(), uri);
+        this.statusQueries = new ConcurrentHashMap<>();
+        this.eventHeights = new ConcurrentHashMap<>();
+        this.ioExecutor = runtime.getIoExecutor();
+        this.confirmExecutor = runtime.getConfirmExecutor();
+        this.timer = runtime.getTimer();
+        this.proofVerifier = proofVerifier;
+        this.proofCatchUpAttempts = Math.max(1, config.getProofCatchUpAttempts());
+        this.proofCatchUpIntervalMillis = config.getProofCatchUpIntervalMillis();
+        this.proofFutures = new ConcurrentHashMap<>();
+        this.channelConfigs = Caffeine.newBuilder()
+            .expireAfterWrite(config.getProofPolicyCacheSeconds(), TimeUnit.SECONDS)
+            .buildAsync((chain, executor) -> supplyIo(this::fetchChannelConfig));
+        this.endorsementPolicies = Caffeine.newBuilder()
+            .expireAfterWrite(config.getProofPolicyCacheSeconds(), TimeUnit.SECONDS)
+            .buildAsync((chaincode, executor) -> supplyIo(() -> fetchEndorsementPolicy(chaincode)));
+        // registers the listeners, so every field they read is set before
         setConnection(connection, connPath);
-        proofFutures = new ConcurrentHashMap<>();
     }
 
     @Override
-    public CompletableFuture<BranchTransactionResponse> submitBranchTransaction(BranchTransaction branchTx) {
-        return CompletableFuture.supplyAsync(() -> {
+    public CompletableFuture<BranchTransactionResponse> submitBranchTransaction(BranchTransaction branchTx, Deadline deadline, Priority priority) {
+        return supplyAsync(priority == Priority.CONFIRM ? this.confirmExecutor : this.ioExecutor, () -> {
+            if (deadline.isExpired()) {
+                LOGGER.warn("deadline of transaction on {} exceeded, skip submitting", this.uri.getChain());
+                return BranchTransactionResponse.newBuilder()
+                    .setTxId(branchTx.getTxId())
+                    .setStatus(BranchTransactionResponse.Status.FAILED)
+                    .setProof("");
+            }
+
             String contractName = branchTx.getInvocation().getContract();
             if (network == null) {
                 throw new RuntimeException("network service not found");
@@ -107,117 +230,463 @@ public class FabricResource implements Resource {
             try {
                 tx.submit(branchTx.getInvocation().getArgsList().toArray(new String[0]));
                 builder.setStatus(BranchTransactionResponse.Status.SUCCESS);
-            } catch (ContractException | TimeoutException | InterruptedException | GatewayRuntimeException e) {
+            } catch (TimeoutException | GatewayRuntimeException e) {
+                // the transaction may be committed anyway, and a retry would submit it again under a new tx id
+                TransactionPackage.TxValidationCode validationCode = queryValidationCode(tx.getTransactionId());
+                if (validationCode != TransactionPackage.TxValidationCode.VALID) {
+                    LOGGER.error("submit transaction failed, validation code of tx {} on the ledger: {}", tx.getTransactionId(), validationCode, e);
+                    builder.setProof("");
+                    builder.setStatus(BranchTransactionResponse.Status.FAILED);
+                    throw new BranchTransactionException(builder.build(), isRetryable(validationCode), e);
+                }
+                LOGGER.warn("submit transaction {} reported an error but it was committed", tx.getTransactionId(), e);
+                builder.setStatus(BranchTransactionResponse.Status.SUCCESS);
+            } catch (ContractException | InterruptedException e) {
                 LOGGER.error("submit transaction failed", e);
                 builder.setProof("");
                 builder.setStatus(BranchTransactionResponse.Status.FAILED);
                 if (e instanceof InterruptedException) {
                     Thread.currentThread().interrupt();
                 }
-                return builder.build();
+                throw new BranchTransactionException(builder.build(), isRetryable(e), e);
             }
+            return builder;
+        }).thenCompose(builder -> builder.getStatus() == BranchTransactionResponse.Status.SUCCESS
+            ? withProof(builder, deadline) : CompletableFuture.completedFuture(builder.build()));
+    }
 
-            try {
-                String proofStr = getProofForTransaction(tx.getTransactionId()).get(30, TimeUnit.SECONDS);
-                builder.setProof(proofStr);
-                return builder.build();
-            } catch (InterruptedException | ExecutionException | TimeoutException e) {
-                LOGGER.error("get transaction proof failed", e);
+    /**
+     * Wait for the proof of a submitted transaction without holding an I/O thread. The proof future
+     * may be shared with other callers, so only a dependent copy of it is bound to the deadline.
+     */
+    private CompletableFuture<BranchTransactionResponse> withProof(BranchTransactionResponse.Builder builder, Deadline deadline) {
+        Deadline proofDeadline = deadline.min(Deadline.after(PROOF_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        CompletableFuture<String> proofFuture = getProofForTransaction(builder.getTxId().getId()).thenApply(Function.identity());
+        return proofDeadline.bind(proofFuture, this.timer, this.ioExecutor).handle((proof, throwable) -> {
+            if (throwable != null) {
+                LOGGER.error("get transaction proof failed", throwable);
                 builder.setProof("");
                 builder.setStatus(BranchTransactionResponse.Status.FAILED);
-                if (e instanceof InterruptedException) {
-                    Thread.currentThread().interrupt();
-                }
-                return builder.build();
+            } else {
+                builder.setProof(proof);
             }
+            return builder.build();
+        });
+    }
 
+    /**
+     * Run a blocking call on the I/O pool, a saturated pool fails the returned future instead of throwing.
+     */
+    private <T> CompletableFuture<T> supplyIo(Supplier<T> supplier) {
+        return supplyAsync(this.ioExecutor, supplier);
+    }
 
-        });
+    private static <T> CompletableFuture<T> supplyAsync(ExecutorService executor, Supplier<T> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, executor);
+        } catch (RejectedExecutionException e) {
+            CompletableFuture<T> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(e);
+            return rejected;
+        }
+    }
+
+    private static boolean isRetryable(Exception e) {
+        String message = e.getMessage();
+        return e instanceof ContractException && message != null
+            && (message.contains("MVCC_READ_CONFLICT") || message.contains("PHANTOM_READ_CONFLICT"));
+    }
+
+    /**
+     * A transaction missing from the ledger may still be ordered and committed later, so only a
+     * transaction invalidated by a read conflict is known to be safe to submit again.
+     */
+    private static boolean isRetryable(TransactionPackage.TxValidationCode validationCode) {
+        return validationCode == TransactionPackage.TxValidationCode.MVCC_READ_CONFLICT
+            || validationCode == TransactionPackage.TxValidationCode.PHANTOM_READ_CONFLICT;
+    }
+
+    /**
+     * @return the validation code of a transaction on the ledger, null if it cannot be found
+     */
+    private TransactionPackage.TxValidationCode queryValidationCode(String txId) {
+        try {
+            TransactionInfo txInfo = network.getChannel().queryTransactionByID(txId);
+            return txInfo == null ? null : txInfo.getValidationCode();
+        } catch (ProposalException | InvalidArgumentException | RuntimeException e) {
+            LOGGER.debug("transaction {} not found on ledger", txId, e);
+            return null;
+        }
     }
 
     @Override
     public CompletableFuture<GlobalTransactionStatus> evaluateGlobalTransaction(Invocation globalTxQuery) {
-        return null;
+        GlobalTransactionStatus cachedStatus = this.terminalStatuses.get(globalTxQuery);
+        if (cachedStatus != null) {
+            return CompletableFuture.completedFuture(cachedStatus);
+        }
+        CompletableFuture<GlobalTransactionStatus> statusFuture = new CompletableFuture<>();
+        CompletableFuture<GlobalTransactionStatus> inFlight = this.statusQueries.putIfAbsent(globalTxQuery, statusFuture);
+        if (inFlight != null) {
+            return inFlight;
+        }
+        supplyIo(() -> {
+            try {
+                GlobalTransactionStatus status = GlobalTransactionStatus.parseFrom(evaluate(globalTxQuery));
+                this.terminalStatuses.offer(globalTxQuery, status);
+                return status;
+            } catch (InvalidProtocolBufferException e) {
+                throw new CompletionException(e);
+            }
+        }).whenComplete((status, throwable) -> {
+            // also runs right away when the I/O pool rejected the query, so no failed entry is left behind
+            this.statusQueries.remove(globalTxQuery, statusFuture);
+            if (throwable != null) {
+                statusFuture.completeExceptionally(throwable);
+            } else {
+                statusFuture.complete(status);
+            }
+        });
+        return statusFuture;
+    }
+
+    @Override
+    public CompletableFuture<List<GlobalTransactionStatus>> evaluateGlobalTransactions(Invocation batchQuery) {
+        List<GlobalTransactionStatus> statuses = new ArrayList<>();
+        List<String> xids = new ArrayList<>();
+        for (String xid : batchQuery.getArgsList()) {
+            GlobalTransactionStatus cachedStatus = this.terminalStatuses.get(xid);
+            if (cachedStatus != null) {
+                statuses.add(cachedStatus);
+            } else {
+                xids.add(xid);
+            }
+        }
+        if (xids.isEmpty()) {
+            return CompletableFuture.completedFuture(statuses);
+        }
+        Invocation query = batchQuery.toBuilder().clearArgs().addAllArgs(xids).build();
+        return supplyIo(() -> {
+            try {
+                List<GlobalTransactionStatus> queried = GlobalTransactionStatusList.parseFrom(evaluate(query)).getStatusesList();
+                queried.forEach(this.terminalStatuses::offer);
+                statuses.addAll(queried);
+                return statuses;
+            } catch (InvalidProtocolBufferException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    private byte[] evaluate(Invocation query) {
+        if (network == null) {
+            throw new RuntimeException("network service not found");
+        }
+        Contract contract = network.getContract(query.getContract());
+        if (contract == null) {
+            throw new RuntimeException("contract service not found");
+        }
+        try {
+            return contract.evaluateTransaction(query.getFunc(), query.getArgsList().toArray(new String[0]));
+        } catch (ContractException e) {
+            throw new CompletionException(e);
+        }
     }
 
     @Override
     public CompletableFuture<String> getProofForTransaction(String txId) {
-        CompletableFuture<TransactionEvent> future = transactionResults.remove(txId);
-        if (future != null) {
-            return future.thenApply(transactionEvent -> {
-                TransactionActionInfo txInfo = transactionEvent.getTransactionActionInfo(0);
-                byte[] proposalResponsePayload = txInfo.getProposalResponsePayload();
-                Proof proof = new Proof();
-                proof.setProposalResponsePayload(ByteString.copyFrom(proposalResponsePayload).toStringUtf8());
-                Set<EndorserInfo> endorserInfos = new HashSet<>();
-                for (int i = 0; i < txInfo.getEndorsementsCount(); i++) {
-                    EndorserInfo endorserInfo = new EndorserInfo();
-                    endorserInfo.setId(txInfo.getEndorsementInfo(i).getId());
-                    endorserInfo.setMspId(txInfo.getEndorsementInfo(i).getMspid());
-                    endorserInfo.setSignature(ByteString.copyFrom(txInfo.getEndorsementInfo(i).getSignature()).toStringUtf8());
-                    endorserInfos.add(endorserInfo);
-                }
-                proof.setEndorserInfos(endorserInfos);
-                Gson proofJson = new Gson();
-                return proofJson.toJson(proof);
-            });
+        String cachedProof = this.transactionProofs.getIfPresent(txId);
+        if (cachedProof != null) {
+            return CompletableFuture.completedFuture(cachedProof);
         } else {
-            CompletableFuture<String> completableFuture = new CompletableFuture<>();
-            this.proofFutures.computeIfAbsent(txId, s -> scheduledExecutorService.scheduleAtFixedRate(() -> {
-                try {
-                    TransactionInfo txInfo = network.getChannel().queryTransactionByID(txId);
-                    if (txInfo == null) {
-                        return;
+            return this.proofFutures.computeIfAbsent(txId, s -> {
+                CompletableFuture<String> proofFuture = new CompletableFuture<>();
+                catchUpProof(txId, proofFuture, 0, this.proofCatchUpAttempts);
+                proofFuture.whenComplete((proof, throwable) -> {
+                    if (throwable == null) {
+                        this.transactionProofs.put(txId, proof);
                     }
-                    Common.Envelope envelope = txInfo.getEnvelope();
-                    Common.Payload payload = Common.Payload.parseFrom(envelope.getPayload());
-                    TransactionPackage.Transaction transaction = TransactionPackage.Transaction.parseFrom(payload.getData());
-                    TransactionPackage.TransactionAction action = transaction.getActionsList().get(0);
-                    TransactionPackage.ChaincodeActionPayload chaincodeActionPayload = TransactionPackage.ChaincodeActionPayload.parseFrom(action.getPayload());
-                    ProposalResponsePackage.ProposalResponsePayload prp = ProposalResponsePackage.ProposalResponsePayload.parseFrom(chaincodeActionPayload.getAction().getProposalResponsePayload());
-                    ProposalPackage.ChaincodeAction ccaction = ProposalPackage.ChaincodeAction.parseFrom(prp.getExtension());
-
-                    Proof proof = new Proof();
-                    proof.setProposalResponsePayload(ByteString.copyFrom(ccaction.getResponse().getPayload().toByteArray()).toStringUtf8());
-                    Set<EndorserInfo> endorserInfos = new HashSet<>();
-                    chaincodeActionPayload.getAction().getEndorsementsList().forEach(endorsement -> {
-                        EndorserInfo endorserInfo = new EndorserInfo();
-                        try {
-                            endorserInfo.setId(Identities.SerializedIdentity.parseFrom(endorsement.getEndorser()).getIdBytes().toStringUtf8());
-                        } catch (InvalidProtocolBufferException e) {
-                            throw new InvalidProtocolBufferRuntimeException(e);
-                        }
-                        try {
-                            endorserInfo.setMspId(Identities.SerializedIdentity.parseFrom(endorsement.getEndorser()).getMspid());
-                        } catch (InvalidProtocolBufferException e) {
-                            throw new InvalidProtocolBufferRuntimeException(e);
-                        }
-
-                        endorserInfo.setSignature(Hex.encodeHexString(endorsement.getSignature().toByteArray()));
-                        endorserInfos.add(endorserInfo);
-                    });
-                    proof.setEndorserInfos(endorserInfos);
-                    Gson proofJson = new Gson();
-                    completableFuture.complete(proofJson.toJson(proof));
-                } catch (ProposalException | InvalidArgumentException | InvalidProtocolBufferException e) {
-                    completableFuture.completeExceptionally(e);
+                    this.proofFutures.remove(txId);
+                });
+                return proofFuture;
+            });
+        }
+
+    }
+
+    /**
+     * Complete the awaited proofs of the transactions in a newly delivered block.
+     */
+    private void onBlock(BlockEvent blockEvent) {
+        long height = blockEvent.getBlockNumber() + 1;
+        for (TransactionEvent transactionEvent : blockEvent.getTransactionEvents()) {
+            for (TransactionActionInfo actionInfo : transactionEvent.getTransactionActionInfos()) {
+                ChaincodeEvent chaincodeEvent = actionInfo.getEvent();
+                if (chaincodeEvent != null) {
+                    this.eventHeights.put(chaincodeEvent.getChaincodeId(), height);
+                }
+            }
+        }
+        if (this.proofFutures.isEmpty()) {
+            return;
+        }
+        Map<String, Common.Payload> payloads = null;
+        for (TransactionEvent transactionEvent : blockEvent.getTransactionEvents()) {
+            CompletableFuture<String> proofFuture = this.proofFutures.get(transactionEvent.getTransactionID());
+            if (proofFuture == null) {
+                continue;
+            }
+            if (!transactionEvent.isValid()) {
+                proofFuture.completeExceptionally(new IllegalStateException("transaction " + transactionEvent.getTransactionID() + " is invalid"));
+                continue;
+            }
+            try {
+                if (payloads == null) {
+                    payloads = payloadsOf(blockEvent);
+                }
+                proofFuture.complete(buildProof(payloads, transactionEvent.getTransactionID()));
+            } catch (InvalidProtocolBufferException | RuntimeException e) {
+                proofFuture.completeExceptionally(e);
+            }
+        }
+    }
 
+    /**
+     * The block listener only sees blocks committed after the proof was awaited, so query the ledger a
+     * few times in case the transaction was committed before, or the block was missed. The proof fails
+     * with a retryable {@link TimeoutException} after mesher.resource.proof-catch-up.attempts, callers
+     * retry it with a fresh catch-up.
+     */
+    private void catchUpProof(String txId, CompletableFuture<String> proofFuture, long delayMillis, int attempts) {
+        this.timer.newTimeout(() -> executeCatchUp(proofFuture, () -> {
+            if (proofFuture.isDone()) {
+                return;
+            }
+            try {
+                TransactionInfo txInfo = network.getChannel().queryTransactionByID(txId);
+                if (txInfo != null) {
+                    proofFuture.complete(buildProof(txInfo));
+                    return;
                 }
-                this.proofFutures.remove(txId).cancel(true);
-            }, 0, 1, TimeUnit.SECONDS));
+            } catch (ProposalException | InvalidArgumentException e) {
+                LOGGER.debug("transaction {} not found on ledger yet", txId, e);
+            } catch (InvalidProtocolBufferException | RuntimeException e) {
+                proofFuture.completeExceptionally(e);
+                return;
+            }
+            if (attempts > 1) {
+                catchUpProof(txId, proofFuture, this.proofCatchUpIntervalMillis, attempts - 1);
+            } else {
+                proofFuture.completeExceptionally(new TimeoutException("proof of transaction " + txId + " not found"));
+            }
+        }), delayMillis, TimeUnit.MILLISECONDS);
+    }
 
-            return completableFuture;
+    private void executeCatchUp(CompletableFuture<String> proofFuture, Runnable catchUp) {
+        try {
+            this.ioExecutor.execute(catchUp);
+        } catch (RejectedExecutionException e) {
+            proofFuture.completeExceptionally(e);
         }
+    }
 
+    /**
+     * Encode a proof as base64 of a {@link Proof} message, so it can be passed in invocation args.
+     */
+    private static String encodeProof(Proof proof) {
+        return Base64.getEncoder().encodeToString(proof.toByteArray());
+    }
+
+    /**
+     * @return the envelope payloads of a block by tx id, each block is only parsed once however many
+     * of its transactions are asked for
+     */
+    private Map<String, Common.Payload> payloadsOf(BlockEvent blockEvent) {
+        return this.blockPayloads.get(blockEvent.getBlockNumber(), blockNumber -> {
+            Map<String, Common.Payload> payloads = new HashMap<>();
+            try {
+                for (ByteString data : blockEvent.getBlock().getData().getDataList()) {
+                    Common.Payload payload = Common.Payload.parseFrom(Common.Envelope.parseFrom(data).getPayload());
+                    payloads.put(Common.ChannelHeader.parseFrom(payload.getHeader().getChannelHeader()).getTxId(), payload);
+                }
+            } catch (InvalidProtocolBufferException e) {
+                throw new InvalidProtocolBufferRuntimeException(e);
+            }
+            return payloads;
+        });
+    }
+
+    /**
+     * Build the proof of a transaction from its envelope in the block it was delivered with.
+     */
+    private static String buildProof(Map<String, Common.Payload> payloads, String txId) throws InvalidProtocolBufferException {
+        Common.Payload payload = payloads.get(txId);
+        if (payload == null) {
+            throw new IllegalStateException("transaction " + txId + " not found in its block");
+        }
+        return buildProof(payload);
+    }
+
+    private static String buildProof(TransactionInfo txInfo) throws InvalidProtocolBufferException {
+        return buildProof(Common.Payload.parseFrom(txInfo.getEnvelope().getPayload()));
+    }
+
+    /**
+     * The proof carries the exact proposal response payload and endorser bytes the endorsers signed,
+     * so it can be verified with nothing but the proof itself.
+     */
+    private static String buildProof(Common.Payload payload) throws InvalidProtocolBufferException {
+        TransactionPackage.Transaction transaction = TransactionPackage.Transaction.parseFrom(payload.getData());
+        TransactionPackage.TransactionAction action = transaction.getActionsList().get(0);
+        TransactionPackage.ChaincodeActionPayload chaincodeActionPayload = TransactionPackage.ChaincodeActionPayload.parseFrom(action.getPayload());
+        TransactionPackage.ChaincodeEndorsedAction endorsedAction = chaincodeActionPayload.getAction();
+
+        Proof.Builder proof = Proof.newBuilder()
+            .setVersion(PROOF_VERSION)
+            .setProposalResponsePayload(endorsedAction.getProposalResponsePayload());
+        for (ProposalResponsePackage.Endorsement endorsement : endorsedAction.getEndorsementsList()) {
+            proof.addEndorsementsBuilder()
+                .setEndorser(endorsement.getEndorser())
+                .setSignature(endorsement.getSignature());
+        }
+        return encodeProof(proof.build());
     }
 
+    @Override
+    public CompletableFuture<Boolean> verifyProof(String proof) {
+        return this.proofVerifier.verify(proof, new FabricProofVerifier.ChannelPolicies() {
+            @Override
+            public CompletableFuture<FabricChannelConfig> getChannelConfig() {
+                return channelConfigs.get(uri.getChain());
+            }
+
+            @Override
+            public CompletableFuture<Policies.ApplicationPolicy> getEndorsementPolicy(String chaincode) {
+                return endorsementPolicies.get(chaincode);
+            }
+        });
+    }
+
+    private FabricChannelConfig fetchChannelConfig() {
+        try {
+            return FabricChannelConfig.parse(this.network.getChannel().getChannelConfigurationBytes());
+        } catch (InvalidArgumentException | TransactionException e) {
+            throw new CompletionException(unavailable("config of channel " + this.uri.getChain(), e));
+        } catch (InvalidProtocolBufferException | GeneralSecurityException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Query the chaincode definition from one peer after another until one answers, the policy is
+     * the validation parameter of the definition.
+     */
+    private Policies.ApplicationPolicy fetchEndorsementPolicy(String chaincode) {
+        Channel channel = this.network.getChannel();
+        HFClient client = ((GatewayImpl) this.gateway).getClient();
+        try {
+            QueryLifecycleQueryChaincodeDefinitionRequest request = client.newQueryLifecycleQueryChaincodeDefinitionRequest();
+            request.setChaincodeName(chaincode);
+            for (Peer peer : channel.getPeers(EnumSet.of(Peer.PeerRole.CHAINCODE_QUERY))) {
+                for (LifecycleQueryChaincodeDefinitionProposalResponse response : channel.lifecycleQueryChaincodeDefinition(request, Collections.singleton(peer))) {
+                    if (response.getStatus() == ChaincodeResponse.Status.SUCCESS) {
+                        return Policies.ApplicationPolicy.parseFrom(response.getValidationParameter());
+                    }
+                    LOGGER.warn("query definition of chaincode {} on {} failed: {}", chaincode, peer, response.getMessage());
+                }
+            }
+        } catch (InvalidArgumentException | ProposalException e) {
+            throw new CompletionException(unavailable("endorsement policy of chaincode " + chaincode, e));
+        } catch (InvalidProtocolBufferException e) {
+            throw new CompletionException(e);
+        }
+        throw new CompletionException(unavailable("endorsement policy of chaincode " + chaincode, null));
+    }
+
+    /**
+     * A channel config or policy the peers did not return fails the verification with a retryable
+     * {@link TimeoutException}, like a proof not found yet, rather than rejecting the proof.
+     */
+    private static TimeoutException unavailable(String what, Exception cause) {
+        TimeoutException unavailable = new TimeoutException(what + " not available");
+        unavailable.initCause(cause);
+        return unavailable;
+    }
+
+    @Override
+    public boolean isListened() {
+        return listened;
+    }
+
+    @Override
+    public long getEventHeight(String contract) {
+        return this.eventHeights.getOrDefault(contract, -1L);
+    }
+
+    /**
+     * Detach the listeners before closing the gateway and the checkpoints, so a replaced resource
+     * delivers no more events and leaves the checkpoint files to the resource replacing it.
+     */
     @Override
     public void close() {
-        this.scheduledExecutorService.shutdown();
+        this.contractListeners.forEach(Contract::removeContractListener);
+        this.contractListeners.clear();
+        if (this.blockListener != null) {
+            this.network.removeBlockListener(this.blockListener);
+        }
+        if (this.gateway != null) {
+            this.gateway.close();
+        }
+        this.proofFutures.values().forEach(proofFuture -> proofFuture.cancel(false));
+        this.checkpointers.forEach(checkpointer -> {
+            try {
+                checkpointer.close();
+            } catch (IOException e) {
+                LOGGER.warn("close checkpointer failed", e);
+            }
+        });
+    }
+
+    /**
+     * The checkpoint of a contract listener records the first block with an event the mesher has not
+     * durably recorded yet. A listener attached with it first replays the blocks committed since, in
+     * order, then follows new blocks, so no cross contract event is lost while the mesher is down.
+     * <p>
+     * On a first start the listener starts at the current height. The start block is set and
+     * persisted before any event is tracked, so a crash before the first event is recorded still
+     * replays it, and a listener with a start block always gets a replay event source of its own
+     * instead of sharing the block source the commit listeners of submitted transactions run on.
+     */
+    private DurableCheckpointer checkpointer(Network network, String contractName) {
+        Path checkpointFile = Paths.get(this.checkpointDir, this.uri.getNetwork(), this.uri.getChain(), contractName + ".durable-checkpoint");
+        DurableCheckpointer checkpointer;
+        try {
+            checkpointer = new DurableCheckpointer(checkpointFile);
+        } catch (IOException e) {
+            LOGGER.error("open checkpoint of contract {} failed", contractName, e);
+            throw new RuntimeException("open checkpoint failed");
+        }
+        this.checkpointers.add(checkpointer);
+        try {
+            if (checkpointer.getBlockNumber() == Checkpointer.UNSET_BLOCK_NUMBER) {
+                checkpointer.setBlockNumber(network.getChannel().queryBlockchainInfo().getHeight());
+            }
+        } catch (ProposalException | InvalidArgumentException | IOException e) {
+            LOGGER.error("resolve start block of contract {} failed", contractName, e);
+            throw new RuntimeException("resolve start block failed");
+        }
+        LOGGER.info("listen to contract {} from block {}", contractName, checkpointer.getBlockNumber());
+        return checkpointer;
     }
 
     public void addTransactionEvent(String txID, TransactionEvent transactionEvent) {
-        this.transactionResults.putIfAbsent(txID, CompletableFuture.completedFuture(transactionEvent));
+        this.transactionProofs.asMap().computeIfAbsent(txID, txId -> {
+            try {
+                return buildProof(payloadsOf(transactionEvent.getBlockEvent()), txId);
+            } catch (InvalidProtocolBufferException e) {
+                throw new InvalidProtocolBufferRuntimeException(e);
+            }
+        });
     }
 
     private void setConnection(byte[] connection, Path connPath) {
@@ -257,12 +726,14 @@ public class FabricResource implements Resource {
         }
 
         Gateway gateway = builder.connect();
+        this.gateway = gateway;
         LOGGER.info(this.uri.getChain());
         Network network = gateway.getNetwork(this.uri.getChain());
         if (network == null) {
             throw new RuntimeException("network service create failed");
         }
         this.network = network;
+        this.blockListener = network.addBlockListener(this::onBlock);
         if (this.uri.getNetwork().equals(this.selfNetwork)) {
             Gson gson = new Gson();
             String connStr;
@@ -283,8 +754,16 @@ public class FabricResource implements Resource {
                 if (contract == null) {
                     throw new RuntimeException("contract service not found");
                 }
-                contract.addContractListener(new CrossContractListener("CROSS_CONTRACT_LISTENER", coordinator, jsonElement.getAsString()));
+                try {
+                    DurableCheckpointer checkpointer = checkpointer(network, jsonElement.getAsString());
+                    this.contractListeners.put(contract, contract.addContractListener(checkpointer,
+                        new CrossContractListener("CROSS_CONTRACT_LISTENER", coordinator, jsonElement.getAsString(), this, checkpointer)));
+                } catch (IOException e) {
+                    LOGGER.error("listen to contract {} failed", jsonElement.getAsString(), e);
+                    throw new RuntimeException("listen to contract failed");
+                }
             });
+            this.listened = true;
         }
 
     }
@@ -0,0 +1,75 @@
+package com.zhigui.crossmesh.mesher.resource.fabric;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import static com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus;
+import static com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusType.PRIMARY_TRANSACTION_CANCELED;
+import static com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusType.PRIMARY_TRANSACTION_COMMITTED;
+import static com.zhigui.crossmesh.proto.Types.Invocation;
+import static com.zhigui.crossmesh.proto.Types.URI;
+
+/**
+ * Committed or canceled global transactions of a chain by xid, their status never changes again.
+ * A status is keyed by the primary prepare tx id it carries, never by the args of the query that
+ * returned it, since only batch queries are known to take xids as args. A single status query is
+ * answered from the cache once it has returned a terminal status, through the xid that status
+ * carried.
+ */
+final class TerminalStatusCache {
+    private final Cache<String, GlobalTransactionStatus> statuses;
+
+    /**
+     * Xid of the terminal status each single status query returned.
+     */
+    private final Cache<Invocation, String> queries;
+
+    TerminalStatusCache(long maxSize, MeterRegistry meterRegistry, URI uri) {
+        this.statuses = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .recordStats()
+            .build();
+        this.queries = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.statuses, "mesher.fabric.global.tx.statuses",
+            "network", uri.getNetwork(), "chain", uri.getChain());
+    }
+
+    /**
+     * @return the terminal status of the global transaction, null if it is not known to be terminal
+     */
+    GlobalTransactionStatus get(String xid) {
+        return this.statuses.getIfPresent(xid);
+    }
+
+    /**
+     * @return the terminal status a single status query returned before, null if it is not known
+     */
+    GlobalTransactionStatus get(Invocation query) {
+        String xid = this.queries.getIfPresent(query);
+        return xid == null ? null : get(xid);
+    }
+
+    void offer(GlobalTransactionStatus status) {
+        if (isTerminal(status)) {
+            this.statuses.put(status.getPrimaryPrepareTxId().getId(), status);
+        }
+    }
+
+    /**
+     * Offer the status returned by a single status query, and remember the query if it is terminal.
+     */
+    void offer(Invocation query, GlobalTransactionStatus status) {
+        if (isTerminal(status)) {
+            offer(status);
+            this.queries.put(query, status.getPrimaryPrepareTxId().getId());
+        }
+    }
+
+    private static boolean isTerminal(GlobalTransactionStatus status) {
+        return status.getStatus() == PRIMARY_TRANSACTION_COMMITTED || status.getStatus() == PRIMARY_TRANSACTION_CANCELED;
+    }
+}
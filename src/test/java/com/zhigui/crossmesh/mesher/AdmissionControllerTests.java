@@ -0,0 +1,89 @@
+package com.zhigui.crossmesh.mesher;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionControllerTests {
+
+    private static AdmissionController admissionController(int maxInFlight, int backlogSize) {
+        Config config = new Config();
+        config.setMaxInFlightTransactions(maxInFlight);
+        config.setAdmissionBacklogSize(backlogSize);
+        return new AdmissionController(config, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void startsBackloggedWorkWhenRunningWorkFinishes() {
+        AdmissionController admissionController = admissionController(1, 1);
+        CompletableFuture<Void> running = new CompletableFuture<>();
+        AtomicInteger started = new AtomicInteger();
+        CompletableFuture<Void> first = admissionController.admit(() -> {
+            started.incrementAndGet();
+            return running;
+        });
+        CompletableFuture<Void> second = admissionController.admit(() -> {
+            started.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        assertEquals(1, started.get());
+
+        running.complete(null);
+        assertEquals(2, started.get());
+        assertTrue(first.isDone());
+        assertFalse(second.isDone());
+    }
+
+    @Test
+    void failsTheAdmittedFutureWhenTheWorkFails() {
+        AdmissionController admissionController = admissionController(1, 1);
+        CompletableFuture<Void> running = new CompletableFuture<>();
+        CompletableFuture<Void> admitted = admissionController.admit(() -> running);
+
+        running.completeExceptionally(new IllegalStateException("failed"));
+        assertTrue(admitted.isCompletedExceptionally());
+    }
+
+    @Test
+    void blocksTheCallerWhileTheBacklogIsFull() throws InterruptedException {
+        AdmissionController admissionController = admissionController(1, 1);
+        CompletableFuture<Void> running = new CompletableFuture<>();
+        admissionController.admit(() -> running);
+        admissionController.admit(CompletableFuture::new);
+
+        CountDownLatch admitted = new CountDownLatch(1);
+        Thread listener = new Thread(() -> {
+            if (!admissionController.admit(CompletableFuture::new).isCompletedExceptionally()) {
+                admitted.countDown();
+            }
+        });
+        listener.start();
+        assertFalse(admitted.await(200, TimeUnit.MILLISECONDS));
+
+        running.complete(null);
+        assertTrue(admitted.await(5, TimeUnit.SECONDS));
+        listener.join();
+    }
+
+    @Test
+    void givesUpWhenInterrupted() throws InterruptedException {
+        AdmissionController admissionController = admissionController(1, 1);
+        admissionController.admit(CompletableFuture::new);
+        admissionController.admit(CompletableFuture::new);
+
+        AtomicInteger result = new AtomicInteger(-1);
+        Thread listener = new Thread(() -> result.set(admissionController.admit(CompletableFuture::new).isCompletedExceptionally() ? 0 : 1));
+        listener.start();
+        listener.interrupt();
+        listener.join(5000);
+        assertEquals(0, result.get());
+    }
+}
@@ -0,0 +1,60 @@
+package com.zhigui.crossmesh.mesher;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.zhigui.crossmesh.proto.Types.TransactionID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoordinatorEventLoopsTests {
+
+    private CoordinatorEventLoops eventLoops;
+
+    @BeforeEach
+    void setUp() {
+        Config config = new Config();
+        config.setEventLoopNum(4);
+        this.eventLoops = new CoordinatorEventLoops(config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.eventLoops.stop();
+    }
+
+    private static TransactionID xid(String id) {
+        return TransactionID.newBuilder().setId(id).build();
+    }
+
+    @Test
+    void mapsATransactionToOneLoop() {
+        assertEquals(4, this.eventLoops.size());
+        assertSame(this.eventLoops.executor(xid("x1")), this.eventLoops.executor(xid("x1")));
+    }
+
+    @Test
+    void runsTheStepsOfATransactionInOrder() throws InterruptedException {
+        List<Integer> steps = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> expected = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(100);
+        for (int i = 0; i < 100; i++) {
+            int step = i;
+            expected.add(step);
+            this.eventLoops.execute(xid("x1"), () -> {
+                steps.add(step);
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(expected, steps);
+    }
+}
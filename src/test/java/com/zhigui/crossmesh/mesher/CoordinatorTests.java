@@ -0,0 +1,196 @@
+package com.zhigui.crossmesh.mesher;
+
+import com.google.protobuf.Timestamp;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.zhigui.crossmesh.proto.Types.BranchTransaction;
+import static com.zhigui.crossmesh.proto.Types.BranchTransactionResponse;
+import static com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusType.PRIMARY_TRANSACTION_COMMITTED;
+import static com.zhigui.crossmesh.proto.Types.Invocation;
+import static com.zhigui.crossmesh.proto.Types.PrimaryTransactionConfirmedEvent;
+import static com.zhigui.crossmesh.proto.Types.PrimaryTransactionPreparedEvent;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoordinatorTests {
+
+    @TempDir
+    Path dir;
+
+    private final HashedWheelTimer timer = new HashedWheelTimer(10, TimeUnit.MILLISECONDS, 64);
+
+    private final StubResource primary = new StubResource("primary");
+
+    private final StubResource branch1 = new StubResource("branch1");
+
+    private final StubResource branch2 = new StubResource("branch2");
+
+    private GlobalTransactionTable globalTransactionTable;
+
+    private RetryScheduler retryScheduler;
+
+    private Coordinator coordinator;
+
+    @AfterEach
+    void tearDown() {
+        this.coordinator.stop();
+        this.retryScheduler.stop();
+        this.timer.stop();
+    }
+
+    private Coordinator coordinator(boolean earlyAbort) {
+        Config config = new Config();
+        config.setEarlyAbortEnabled(earlyAbort);
+        config.setEventLoopNum(2);
+        config.setRetryMaxAttempts(3);
+        config.setRetryInitialBackoffMillis(10);
+        config.setRetryMaxBackoffMillis(20);
+        config.setMaxInFlightTransactions(10);
+        config.setAdmissionBacklogSize(10);
+        config.setDoneTransactionRetentionSeconds(60);
+        config.setMonitorLogDir(this.dir.toString());
+        config.setMonitorLogCompactThreshold(100);
+        config.setCrossMonitorThreadNum(1);
+        config.setPendingMemoryBudgetBytes(1 << 20);
+        config.setGlobalTxStatusBatchFunc("batchStatus");
+        config.setGlobalTxStatusBatchSize(10);
+        config.setMinPollDelayMillis(1000);
+        config.setMaxPollDelayMillis(1000);
+        config.setFallbackPollDelaySeconds(60);
+
+        CoordinatorEventLoops eventLoops = new CoordinatorEventLoops(config);
+        this.retryScheduler = new RetryScheduler(config, this.timer, new SimpleMeterRegistry());
+        this.globalTransactionTable = new GlobalTransactionTable(config, this.timer);
+        CrossTransactionMonitor monitor = new CrossTransactionMonitor(config, StubResource.registry(this.primary, this.branch1, this.branch2),
+            eventLoops, this.retryScheduler, this.timer, new MonitorLog(config), new MonitorOverflow(config));
+        monitor.recover();
+
+        this.coordinator = new Coordinator();
+        ReflectionTestUtils.setField(this.coordinator, "config", config);
+        ReflectionTestUtils.setField(this.coordinator, "resourceRegistry", StubResource.registry(this.primary, this.branch1, this.branch2));
+        ReflectionTestUtils.setField(this.coordinator, "crossTransactionMonitor", monitor);
+        ReflectionTestUtils.setField(this.coordinator, "globalTransactionTable", this.globalTransactionTable);
+        ReflectionTestUtils.setField(this.coordinator, "eventLoops", eventLoops);
+        ReflectionTestUtils.setField(this.coordinator, "retryScheduler", this.retryScheduler);
+        ReflectionTestUtils.setField(this.coordinator, "admissionController", new AdmissionController(config, new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(this.coordinator, "timer", this.timer);
+        return this.coordinator;
+    }
+
+    private PrimaryTransactionPreparedEvent preparedEvent(String xid, long ttlMillis) {
+        PrimaryTransactionPreparedEvent.Builder event = PrimaryTransactionPreparedEvent.newBuilder()
+            .setPrimaryPrepareTxId(this.primary.txId(xid))
+            .setPrimaryConfirmTx(BranchTransaction.newBuilder()
+                .setTxId(this.primary.txId(xid + "-confirm"))
+                .setInvocation(Invocation.newBuilder().setContract("cross").setFunc("confirm")))
+            .setGlobalTxStatusQuery(Invocation.newBuilder().setContract("cross").setFunc("status").addArgs(xid))
+            .addBranchPrepareTxs(BranchTransaction.newBuilder()
+                .setTxId(this.branch1.txId(xid + "-b1"))
+                .setInvocation(Invocation.newBuilder().setContract("cross").setFunc("prepare")))
+            .addBranchPrepareTxs(BranchTransaction.newBuilder()
+                .setTxId(this.branch2.txId(xid + "-b2"))
+                .setInvocation(Invocation.newBuilder().setContract("cross").setFunc("prepare")));
+        if (ttlMillis > 0) {
+            event.setTtlTime(Timestamp.newBuilder().setSeconds(ttlMillis / 1000).setNanos((int) (ttlMillis % 1000) * 1000000));
+        }
+        return event.build();
+    }
+
+    private static List<String> args(BranchTransaction branchTx) {
+        return branchTx.getInvocation().getArgsList();
+    }
+
+    @Test
+    void confirmsThePrimaryWithTheProofsOfItsPreparedBranches() throws Exception {
+        coordinator(false).handlePrimaryTransactionPrepared(preparedEvent("x1", 0)).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, this.branch1.prepared.size());
+        assertEquals(Arrays.asList("cross", "status", "net", "primary", "x1", "proof-x1"), args(this.branch1.prepared.get(0)));
+        assertEquals(1, this.primary.confirmed.size());
+        assertEquals(Arrays.asList("net", "branch1", "x1-b1", "proof-x1-b1", "net", "branch2", "x1-b2", "proof-x1-b2"), args(this.primary.confirmed.get(0)));
+        assertEquals(GlobalTransactionTable.Phase.DONE, this.globalTransactionTable.getPhase(this.primary.txId("x1")));
+    }
+
+    @Test
+    void abortsOnTheFirstFailedBranchAndCancelsTheOthers() throws Exception {
+        CompletableFuture<BranchTransactionResponse> slowBranch = new CompletableFuture<>();
+        this.branch1.answer = StubResource::failure;
+        this.branch2.answer = branchTx -> slowBranch;
+
+        coordinator(true).handlePrimaryTransactionPrepared(preparedEvent("x1", 0)).get(5, TimeUnit.SECONDS);
+
+        assertTrue(slowBranch.isCancelled());
+        assertEquals(Arrays.asList("net", "branch1", "x1-b1", "", "net", "branch2", "x1-b2", ""), args(this.primary.confirmed.get(0)));
+    }
+
+    @Test
+    void waitsForEveryBranchWithoutEarlyAbort() throws Exception {
+        CompletableFuture<BranchTransactionResponse> slowBranch = new CompletableFuture<>();
+        this.branch1.answer = StubResource::failure;
+        this.branch2.answer = branchTx -> slowBranch;
+
+        CompletableFuture<Void> driven = coordinator(false).handlePrimaryTransactionPrepared(preparedEvent("x1", 0));
+        Thread.sleep(200);
+        assertFalse(driven.isDone());
+        assertTrue(this.primary.confirmed.isEmpty());
+
+        slowBranch.complete(StubResource.success(this.branch2.prepared.get(0)).join());
+        driven.get(5, TimeUnit.SECONDS);
+        assertEquals(Arrays.asList("net", "branch1", "x1-b1", "", "net", "branch2", "x1-b2", "proof-x1-b2"), args(this.primary.confirmed.get(0)));
+    }
+
+    @Test
+    void drivesEachGlobalTransactionOnce() throws Exception {
+        Coordinator coordinator = coordinator(false);
+        coordinator.handlePrimaryTransactionPrepared(preparedEvent("x1", 0)).get(5, TimeUnit.SECONDS);
+        coordinator.handlePrimaryTransactionPrepared(preparedEvent("x1", 0)).get(5, TimeUnit.SECONDS);
+        assertEquals(1, this.branch1.prepared.size());
+        assertEquals(1, this.primary.confirmed.size());
+
+        PrimaryTransactionConfirmedEvent confirmedEvent = PrimaryTransactionConfirmedEvent.newBuilder()
+            .setPrimaryConfirmTxId(this.primary.txId("x1-confirm"))
+            .setPrimaryPrepareTxId(this.primary.txId("x1"))
+            .setStatus(PRIMARY_TRANSACTION_COMMITTED)
+            .addBranchConfirmTxs(BranchTransaction.newBuilder()
+                .setTxId(this.branch1.txId("x1-b1-confirm"))
+                .setInvocation(Invocation.newBuilder().setContract("cross").setFunc("confirm")))
+            .build();
+        coordinator.handlePrimaryTransactionConfirmed(confirmedEvent).get(5, TimeUnit.SECONDS);
+        coordinator.handlePrimaryTransactionConfirmed(confirmedEvent).get(5, TimeUnit.SECONDS);
+        assertEquals(1, this.branch1.confirmed.size());
+        assertEquals(Arrays.asList("proof-x1-confirm"), args(this.branch1.confirmed.get(0)));
+    }
+
+    @Test
+    void rollsBackWithoutPreparingBranchesOnceTheDeadlinePasses() throws Exception {
+        this.primary.proofs = txId -> new CompletableFuture<>();
+
+        coordinator(false).handlePrimaryTransactionPrepared(preparedEvent("x1", System.currentTimeMillis() + 300)).get(5, TimeUnit.SECONDS);
+
+        assertTrue(this.branch1.prepared.isEmpty());
+        assertTrue(this.branch2.prepared.isEmpty());
+        assertEquals(Arrays.asList("net", "branch1", "x1-b1", "", "net", "branch2", "x1-b2", ""), args(this.primary.confirmed.get(0)));
+    }
+
+    @Test
+    void rollsBackWithoutPreparingBranchesOnAnInvalidProof() throws Exception {
+        this.primary.validProofs = false;
+
+        coordinator(false).handlePrimaryTransactionPrepared(preparedEvent("x1", 0)).get(5, TimeUnit.SECONDS);
+
+        assertTrue(this.branch1.prepared.isEmpty());
+        assertTrue(this.branch2.prepared.isEmpty());
+        assertEquals(Arrays.asList("net", "branch1", "x1-b1", "", "net", "branch2", "x1-b2", ""), args(this.primary.confirmed.get(0)));
+    }
+}
@@ -0,0 +1,146 @@
+package com.zhigui.crossmesh.mesher;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.zhigui.crossmesh.proto.Types.BranchTransaction;
+import static com.zhigui.crossmesh.proto.Types.BranchTransactionPreparedEvent;
+import static com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus;
+import static com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusType;
+import static com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusType.PRIMARY_TRANSACTION_CANCELED;
+import static com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusType.PRIMARY_TRANSACTION_COMMITTED;
+import static com.zhigui.crossmesh.proto.Types.Invocation;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CrossTransactionMonitorTests {
+
+    @TempDir
+    Path dir;
+
+    private final HashedWheelTimer timer = new HashedWheelTimer(10, TimeUnit.MILLISECONDS, 64);
+
+    private final StubResource primary = new StubResource("primary");
+
+    private final StubResource branch = new StubResource("branch");
+
+    private RetryScheduler retryScheduler;
+
+    private CoordinatorEventLoops eventLoops;
+
+    private CrossTransactionMonitor monitor;
+
+    @AfterEach
+    void tearDown() {
+        this.monitor.stop();
+        this.eventLoops.stop();
+        this.retryScheduler.stop();
+        this.timer.stop();
+    }
+
+    /**
+     * Polls every 300ms, so events monitored right away are due in the same poll.
+     */
+    private CrossTransactionMonitor monitor() {
+        Config config = new Config();
+        config.setEventLoopNum(2);
+        config.setRetryMaxAttempts(1);
+        config.setMonitorLogDir(this.dir.toString());
+        config.setMonitorLogCompactThreshold(100);
+        config.setCrossMonitorThreadNum(1);
+        config.setPendingMemoryBudgetBytes(1 << 20);
+        config.setGlobalTxStatusBatchFunc("batchStatus");
+        config.setGlobalTxStatusBatchSize(2);
+        config.setMinPollDelayMillis(300);
+        config.setMaxPollDelayMillis(600);
+        config.setFallbackPollDelaySeconds(60);
+        this.eventLoops = new CoordinatorEventLoops(config);
+        this.retryScheduler = new RetryScheduler(config, this.timer, new SimpleMeterRegistry());
+        this.monitor = new CrossTransactionMonitor(config, StubResource.registry(this.primary, this.branch),
+            this.eventLoops, this.retryScheduler, this.timer, new MonitorLog(config), new MonitorOverflow(config));
+        this.monitor.recover();
+        return this.monitor;
+    }
+
+    private BranchTransactionPreparedEvent preparedEvent(String xid) {
+        return BranchTransactionPreparedEvent.newBuilder()
+            .setPrimaryPrepareTxId(this.primary.txId(xid))
+            .setGlobalTxStatusQuery(Invocation.newBuilder().setContract("cross").setFunc("status").addArgs(xid))
+            .setConfirmTx(BranchTransaction.newBuilder()
+                .setTxId(this.branch.txId(xid + "-confirm"))
+                .setInvocation(Invocation.newBuilder().setContract("cross").setFunc("confirm")))
+            .build();
+    }
+
+    private GlobalTransactionStatus status(String xid, GlobalTransactionStatusType type) {
+        return GlobalTransactionStatus.newBuilder()
+            .setPrimaryPrepareTxId(this.primary.txId(xid))
+            .setStatus(type)
+            .setPrimaryConfirmTxId(this.primary.txId(xid + "-primary-confirm"))
+            .build();
+    }
+
+    @Test
+    void pollsThePendingPrimariesOfAChainInBatches() throws Exception {
+        CrossTransactionMonitor monitor = monitor();
+        for (String xid : Arrays.asList("x1", "x2", "x3")) {
+            this.primary.statuses.put(xid, status(xid, PRIMARY_TRANSACTION_COMMITTED));
+            monitor.monitor(preparedEvent(xid)).get(5, TimeUnit.SECONDS);
+        }
+
+        StubResource.await(() -> this.branch.confirmed.size() == 3);
+        List<Integer> batchSizes = new ArrayList<>();
+        Set<String> xids = new HashSet<>();
+        this.primary.batchQueries.forEach(batchQuery -> {
+            assertEquals("cross", batchQuery.getContract());
+            assertEquals("batchStatus", batchQuery.getFunc());
+            batchSizes.add(batchQuery.getArgsCount());
+            xids.addAll(batchQuery.getArgsList());
+        });
+        Collections.sort(batchSizes);
+        assertEquals(Arrays.asList(1, 2), batchSizes);
+        assertEquals(new HashSet<>(Arrays.asList("x1", "x2", "x3")), xids);
+        assertTrue(this.primary.singleQueries.isEmpty());
+        assertEquals(Arrays.asList("1", "net", "primary", "x1-primary-confirm", "proof-x1-primary-confirm"),
+            this.branch.confirmed.stream().filter(confirmTx -> confirmTx.getTxId().getId().equals("x1-confirm")).findFirst().get().getInvocation().getArgsList());
+    }
+
+    @Test
+    void resolvesAListenedPrimaryByItsEventWithoutPolling() throws Exception {
+        this.primary.listened = true;
+        CrossTransactionMonitor monitor = monitor();
+        monitor.monitor(preparedEvent("x1")).get(5, TimeUnit.SECONDS);
+
+        monitor.resolve(status("x1", PRIMARY_TRANSACTION_CANCELED));
+
+        StubResource.await(() -> this.branch.confirmed.size() == 1);
+        assertEquals(Arrays.asList("2", "net", "primary", "x1-primary-confirm", "proof-x1-primary-confirm"), this.branch.confirmed.get(0).getInvocation().getArgsList());
+        Thread.sleep(500);
+        assertTrue(this.primary.batchQueries.isEmpty());
+        assertTrue(this.primary.singleQueries.isEmpty());
+    }
+
+    @Test
+    void confirmsAFailedBranchAgainOnTheNextRound() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        this.branch.answer = confirmTx -> attempts.incrementAndGet() == 1 ? StubResource.failure(confirmTx) : StubResource.success(confirmTx);
+        this.primary.statuses.put("x1", status("x1", PRIMARY_TRANSACTION_COMMITTED));
+        monitor().monitor(preparedEvent("x1")).get(5, TimeUnit.SECONDS);
+
+        StubResource.await(() -> this.branch.confirmed.size() == 2);
+        Thread.sleep(1000);
+        assertEquals(2, this.branch.confirmed.size());
+    }
+}
@@ -0,0 +1,71 @@
+package com.zhigui.crossmesh.mesher;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashedWheelTimerTests {
+
+    private final HashedWheelTimer timer = new HashedWheelTimer(10, TimeUnit.MILLISECONDS, 8);
+
+    @AfterEach
+    void tearDown() {
+        this.timer.stop();
+    }
+
+    @Test
+    void firesNoEarlierThanTheDelay() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+        HashedWheelTimer.Timeout timeout = this.timer.newTimeout(fired::countDown, 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(timeout.isExpired());
+        assertFalse(timeout.cancel());
+    }
+
+    @Test
+    void firesTimeoutsSpanningSeveralRoundsInOrder() throws InterruptedException {
+        // 8 ticks of 10 ms per round, so these land in the same buckets on different rounds
+        List<Long> fired = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        for (long delay : new long[]{250, 90, 170}) {
+            this.timer.newTimeout(() -> {
+                fired.add(delay);
+                done.countDown();
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(90L, 170L, 250L), fired);
+    }
+
+    @Test
+    void skipsCancelledTimeouts() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        HashedWheelTimer.Timeout timeout = this.timer.newTimeout(fired::countDown, 30, TimeUnit.MILLISECONDS);
+
+        assertTrue(timeout.cancel());
+        assertFalse(fired.await(200, TimeUnit.MILLISECONDS));
+        assertTrue(timeout.isCancelled());
+        assertEquals(0, this.timer.pendingTimeouts());
+    }
+
+    @Test
+    void rejectsTimeoutsOnceStopped() {
+        this.timer.stop();
+        assertThrows(IllegalStateException.class, () -> this.timer.newTimeout(() -> {
+        }, 10, TimeUnit.MILLISECONDS));
+    }
+}
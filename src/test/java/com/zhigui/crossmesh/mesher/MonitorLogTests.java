@@ -0,0 +1,105 @@
+package com.zhigui.crossmesh.mesher;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.zhigui.crossmesh.proto.Types.BranchTransaction;
+import static com.zhigui.crossmesh.proto.Types.BranchTransactionPreparedEvent;
+import static com.zhigui.crossmesh.proto.Types.TransactionID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MonitorLogTests {
+
+    @TempDir
+    Path dir;
+
+    private MonitorLog monitorLog(int compactThreshold) {
+        Config config = new Config();
+        config.setMonitorLogDir(this.dir.toString());
+        config.setMonitorLogCompactThreshold(compactThreshold);
+        return new MonitorLog(config);
+    }
+
+    private static TransactionID xid(String id) {
+        return TransactionID.newBuilder().setId(id).build();
+    }
+
+    private static BranchTransactionPreparedEvent event(String xid, String branchTxId) {
+        return BranchTransactionPreparedEvent.newBuilder()
+            .setPrimaryPrepareTxId(xid(xid))
+            .setConfirmTx(BranchTransaction.newBuilder().setTxId(xid(branchTxId)))
+            .build();
+    }
+
+    @Test
+    void replaysPendingEventsGroupedByPrimaryInLogOrder() throws Exception {
+        MonitorLog monitorLog = monitorLog(100);
+        monitorLog.recover(Collections::emptyList);
+        CompletableFuture.allOf(
+            monitorLog.append(event("x1", "b1")),
+            monitorLog.append(event("x2", "b2")),
+            monitorLog.append(event("x1", "b3"))).get();
+        monitorLog.close();
+
+        List<BranchTransactionPreparedEvent> recovered = monitorLog(100).recover(Collections::emptyList);
+        assertEquals(Arrays.asList(event("x1", "b1"), event("x1", "b3"), event("x2", "b2")), recovered);
+    }
+
+    @Test
+    void dropsRemovedPrimaries() throws Exception {
+        MonitorLog monitorLog = monitorLog(100);
+        monitorLog.recover(Collections::emptyList);
+        monitorLog.append(event("x1", "b1")).get();
+        monitorLog.append(event("x2", "b2")).get();
+        monitorLog.remove(xid("x1")).get();
+        monitorLog.close();
+
+        assertEquals(Collections.singletonList(event("x2", "b2")), monitorLog(100).recover(Collections::emptyList));
+    }
+
+    @Test
+    void ignoresATornLastRecord() throws Exception {
+        MonitorLog monitorLog = monitorLog(100);
+        monitorLog.recover(Collections::emptyList);
+        monitorLog.append(event("x1", "b1")).get();
+        monitorLog.close();
+        Files.write(this.dir.resolve("monitor.log"), new byte[]{1, 0, 0, 0, 100, 7, 7}, StandardOpenOption.APPEND);
+
+        assertEquals(Collections.singletonList(event("x1", "b1")), monitorLog(100).recover(Collections::emptyList));
+    }
+
+    @Test
+    void compactsToTheLiveEvents() throws Exception {
+        MonitorLog monitorLog = monitorLog(2);
+        monitorLog.recover(() -> Collections.singletonList(event("x2", "b2")));
+        long before = size();
+        monitorLog.append(event("x1", "b1")).get();
+        monitorLog.append(event("x2", "b2")).get();
+        monitorLog.close();
+
+        assertTrue(size() > before);
+        assertEquals(Collections.singletonList(event("x2", "b2")), monitorLog(100).recover(Collections::emptyList));
+    }
+
+    @Test
+    void failsAppendsOnceClosed() {
+        MonitorLog monitorLog = monitorLog(100);
+        monitorLog.recover(Collections::emptyList);
+        monitorLog.close();
+        assertTrue(monitorLog.append(event("x1", "b1")).isCompletedExceptionally());
+    }
+
+    private long size() throws IOException {
+        return Files.size(this.dir.resolve("monitor.log"));
+    }
+}
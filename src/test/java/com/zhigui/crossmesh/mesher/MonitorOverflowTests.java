@@ -0,0 +1,86 @@
+package com.zhigui.crossmesh.mesher;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.zhigui.crossmesh.proto.Types.BranchTransaction;
+import static com.zhigui.crossmesh.proto.Types.BranchTransactionPreparedEvent;
+import static com.zhigui.crossmesh.proto.Types.Invocation;
+import static com.zhigui.crossmesh.proto.Types.TransactionID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MonitorOverflowTests {
+
+    @TempDir
+    Path dir;
+
+    private MonitorOverflow overflow;
+
+    @BeforeEach
+    void setUp() {
+        Config config = new Config();
+        config.setMonitorLogDir(this.dir.toString());
+        this.overflow = new MonitorOverflow(config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.overflow.close();
+    }
+
+    private static BranchTransactionPreparedEvent event(String xid, int argLength) {
+        char[] arg = new char[argLength];
+        Arrays.fill(arg, 'a');
+        return BranchTransactionPreparedEvent.newBuilder()
+            .setPrimaryPrepareTxId(TransactionID.newBuilder().setId(xid))
+            .setConfirmTx(BranchTransaction.newBuilder().setInvocation(Invocation.newBuilder().addArgs(new String(arg))))
+            .build();
+    }
+
+    @Test
+    void loadsWhatWasSpilled() throws Exception {
+        List<BranchTransactionPreparedEvent> first = Arrays.asList(event("x1", 10), event("x1", 20));
+        List<BranchTransactionPreparedEvent> second = Collections.singletonList(event("x2", 30));
+        MonitorOverflow.Spilled spilledFirst = this.overflow.spill(first);
+        MonitorOverflow.Spilled spilledSecond = this.overflow.spill(second);
+
+        assertEquals(first, this.overflow.load(spilledFirst));
+        assertEquals(second, this.overflow.load(spilledSecond));
+    }
+
+    @Test
+    void truncatesOnceEveryRecordIsReleased() throws Exception {
+        MonitorOverflow.Spilled first = this.overflow.spill(Collections.singletonList(event("x1", 10)));
+        MonitorOverflow.Spilled second = this.overflow.spill(Collections.singletonList(event("x2", 10)));
+        this.overflow.release(first);
+        assertTrue(this.overflow.size() > 0);
+
+        this.overflow.release(second);
+        // a repeated release is ignored
+        this.overflow.release(second);
+        assertEquals(0, this.overflow.size());
+    }
+
+    @Test
+    void compactsOnceMostBytesAreDead() throws Exception {
+        List<BranchTransactionPreparedEvent> live = Collections.singletonList(event("x3", 600 * 1024));
+        MonitorOverflow.Spilled first = this.overflow.spill(Collections.singletonList(event("x1", 600 * 1024)));
+        MonitorOverflow.Spilled second = this.overflow.spill(Collections.singletonList(event("x2", 600 * 1024)));
+        MonitorOverflow.Spilled third = this.overflow.spill(live);
+        long liveSize = this.overflow.size() / 3;
+
+        this.overflow.release(first);
+        assertEquals(3 * liveSize, this.overflow.size());
+        this.overflow.release(second);
+        assertEquals(liveSize, this.overflow.size());
+        assertEquals(live, this.overflow.load(third));
+    }
+}
@@ -0,0 +1,89 @@
+package com.zhigui.crossmesh.mesher;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RetrySchedulerTests {
+
+    private final HashedWheelTimer timer = new HashedWheelTimer(10, TimeUnit.MILLISECONDS, 64);
+
+    private final RetryScheduler retryScheduler = retryScheduler(3);
+
+    @AfterEach
+    void tearDown() {
+        this.retryScheduler.stop();
+        this.timer.stop();
+    }
+
+    private RetryScheduler retryScheduler(int maxAttempts) {
+        Config config = new Config();
+        config.setRetryMaxAttempts(maxAttempts);
+        config.setRetryInitialBackoffMillis(20);
+        config.setRetryMaxBackoffMillis(40);
+        return new RetryScheduler(config, this.timer, new SimpleMeterRegistry());
+    }
+
+    private static <T> CompletableFuture<T> failed(Throwable throwable) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(throwable);
+        return future;
+    }
+
+    @Test
+    void retriesTransientFailuresOffTheTimerThread() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        List<String> threads = new CopyOnWriteArrayList<>();
+        CompletableFuture<String> result = this.retryScheduler.execute("test", () -> {
+            threads.add(Thread.currentThread().getName());
+            if (attempts.incrementAndGet() < 3) {
+                return failed(new TimeoutException("slow"));
+            }
+            return CompletableFuture.completedFuture("done");
+        });
+
+        assertEquals("done", result.get(5, TimeUnit.SECONDS));
+        assertEquals(3, attempts.get());
+        assertFalse(threads.contains("mesher-wheel-timer"));
+    }
+
+    @Test
+    void failsFastOnFatalFailures() {
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<String> result = this.retryScheduler.execute("test", () -> {
+            attempts.incrementAndGet();
+            return failed(new IllegalArgumentException("bad"));
+        });
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IllegalArgumentException);
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void givesUpAfterTheMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<String> result = this.retryScheduler.execute("test", () -> {
+            attempts.incrementAndGet();
+            throw new RejectedExecutionException("saturated");
+        });
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+        assertEquals(3, attempts.get());
+    }
+}
@@ -0,0 +1,140 @@
+package com.zhigui.crossmesh.mesher;
+
+import com.zhigui.crossmesh.mesher.resource.Priority;
+import com.zhigui.crossmesh.mesher.resource.Resource;
+import com.zhigui.crossmesh.mesher.resource.ResourceRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import static com.zhigui.crossmesh.proto.Types.BranchTransaction;
+import static com.zhigui.crossmesh.proto.Types.BranchTransactionResponse;
+import static com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus;
+import static com.zhigui.crossmesh.proto.Types.Invocation;
+import static com.zhigui.crossmesh.proto.Types.TransactionID;
+import static com.zhigui.crossmesh.proto.Types.URI;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A chain the coordinator and the monitor talk to, recording what they submit and query. Submissions
+ * succeed with a proof named after the transaction unless answered otherwise.
+ */
+class StubResource implements Resource {
+    final URI uri;
+
+    final List<BranchTransaction> prepared = new CopyOnWriteArrayList<>();
+
+    final List<BranchTransaction> confirmed = new CopyOnWriteArrayList<>();
+
+    final List<Invocation> batchQueries = new CopyOnWriteArrayList<>();
+
+    final List<Invocation> singleQueries = new CopyOnWriteArrayList<>();
+
+    final Map<String, GlobalTransactionStatus> statuses = new ConcurrentHashMap<>();
+
+    volatile Function<BranchTransaction, CompletableFuture<BranchTransactionResponse>> answer = StubResource::success;
+
+    volatile Function<String, CompletableFuture<String>> proofs = txId -> CompletableFuture.completedFuture("proof-" + txId);
+
+    volatile boolean validProofs = true;
+
+    volatile boolean listened;
+
+    StubResource(String chain) {
+        this.uri = URI.newBuilder().setNetwork("net").setChain(chain).build();
+    }
+
+    TransactionID txId(String id) {
+        return TransactionID.newBuilder().setUri(this.uri).setId(id).build();
+    }
+
+    static CompletableFuture<BranchTransactionResponse> success(BranchTransaction branchTx) {
+        return CompletableFuture.completedFuture(BranchTransactionResponse.newBuilder()
+            .setTxId(branchTx.getTxId())
+            .setStatus(BranchTransactionResponse.Status.SUCCESS)
+            .setProof("proof-" + branchTx.getTxId().getId())
+            .build());
+    }
+
+    static CompletableFuture<BranchTransactionResponse> failure(BranchTransaction branchTx) {
+        return CompletableFuture.completedFuture(BranchTransactionResponse.newBuilder()
+            .setTxId(branchTx.getTxId())
+            .setStatus(BranchTransactionResponse.Status.FAILED)
+            .setProof("")
+            .build());
+    }
+
+    @Override
+    public CompletableFuture<BranchTransactionResponse> submitBranchTransaction(BranchTransaction branchTx, Deadline deadline, Priority priority) {
+        (priority == Priority.PREPARE ? this.prepared : this.confirmed).add(branchTx);
+        return this.answer.apply(branchTx);
+    }
+
+    @Override
+    public CompletableFuture<GlobalTransactionStatus> evaluateGlobalTransaction(Invocation globalTxQuery) {
+        this.singleQueries.add(globalTxQuery);
+        return CompletableFuture.completedFuture(this.statuses.get(globalTxQuery.getArgs(0)));
+    }
+
+    @Override
+    public CompletableFuture<List<GlobalTransactionStatus>> evaluateGlobalTransactions(Invocation batchQuery) {
+        this.batchQueries.add(batchQuery);
+        List<GlobalTransactionStatus> statuses = new ArrayList<>();
+        batchQuery.getArgsList().forEach(xid -> {
+            if (this.statuses.containsKey(xid)) {
+                statuses.add(this.statuses.get(xid));
+            }
+        });
+        return CompletableFuture.completedFuture(statuses);
+    }
+
+    @Override
+    public CompletableFuture<String> getProofForTransaction(String txId) {
+        return this.proofs.apply(txId);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> verifyProof(String proof) {
+        return CompletableFuture.completedFuture(this.validProofs);
+    }
+
+    @Override
+    public boolean isListened() {
+        return this.listened;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /**
+     * A registry serving the given resources instead of connecting to chains.
+     */
+    static ResourceRegistry registry(StubResource... resources) {
+        Map<URI, Resource> byUri = new ConcurrentHashMap<>();
+        for (StubResource resource : resources) {
+            byUri.put(resource.uri, resource);
+        }
+        return new ResourceRegistry() {
+            @Override
+            public Resource getResource(URI uri) {
+                return byUri.get(uri);
+            }
+        };
+    }
+
+    static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.zhigui.crossmesh.mesher.resource;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTests {
+
+    @Test
+    void queuesCallsAboveTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 2, 2, 10, 10);
+        List<CompletableFuture<String>> calls = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            CompletableFuture<String> call = new CompletableFuture<>();
+            calls.add(call);
+            limiter.submit(Priority.PREPARE, () -> call);
+        }
+        assertEquals(2, limiter.getInFlight());
+        assertEquals(1, limiter.getQueued());
+
+        calls.get(0).complete("done");
+        assertEquals(2, limiter.getInFlight());
+        assertEquals(0, limiter.getQueued());
+    }
+
+    @Test
+    void startsQueuedConfirmsBeforePrepares() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 1, 1, 10, 10);
+        CompletableFuture<String> running = new CompletableFuture<>();
+        limiter.submit(Priority.PREPARE, () -> running);
+        List<Priority> started = new ArrayList<>();
+        limiter.submit(Priority.PREPARE, () -> {
+            started.add(Priority.PREPARE);
+            return new CompletableFuture<>();
+        });
+        limiter.submit(Priority.CONFIRM, () -> {
+            started.add(Priority.CONFIRM);
+            return new CompletableFuture<>();
+        });
+
+        running.complete("done");
+        assertEquals(1, started.size());
+        assertEquals(Priority.CONFIRM, started.get(0));
+    }
+
+    @Test
+    void boundsEachPriorityQueueSeparately() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 1, 1, 1, 2);
+        limiter.submit(Priority.PREPARE, CompletableFuture::new);
+        assertFalse(limiter.submit(Priority.PREPARE, CompletableFuture::new).isDone());
+        assertRejected(limiter.submit(Priority.PREPARE, CompletableFuture::new));
+
+        // a full prepare queue does not turn confirms away
+        assertFalse(limiter.submit(Priority.CONFIRM, CompletableFuture::new).isDone());
+        assertFalse(limiter.submit(Priority.CONFIRM, CompletableFuture::new).isDone());
+        assertRejected(limiter.submit(Priority.CONFIRM, CompletableFuture::new));
+        assertEquals(3, limiter.getQueued());
+    }
+
+    @Test
+    void shrinksTheLimitOnTimeout() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 8, 8, 10, 10);
+        CompletableFuture<String> call = new CompletableFuture<>();
+        limiter.submit(Priority.CONFIRM, () -> call);
+        call.completeExceptionally(new CompletionException(new TimeoutException("deadline exceeded")));
+        assertTrue(limiter.getLimit() < 8);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void keepsTheLimitOnAFailedTransaction() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 8, 8, 10, 10);
+        CompletableFuture<String> call = new CompletableFuture<>();
+        limiter.submit(Priority.CONFIRM, () -> call);
+        call.completeExceptionally(new IllegalStateException("endorsement policy failure"));
+        assertEquals(8, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void drainsALongQueueOfSynchronousFailuresWithoutNesting() {
+        int queueSize = 100000;
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 1, 1, queueSize, queueSize);
+        CompletableFuture<String> running = new CompletableFuture<>();
+        limiter.submit(Priority.PREPARE, () -> running);
+        List<CompletableFuture<String>> calls = new ArrayList<>();
+        for (int i = 0; i < queueSize; i++) {
+            calls.add(limiter.submit(Priority.PREPARE, () -> {
+                CompletableFuture<String> rejected = new CompletableFuture<>();
+                rejected.completeExceptionally(new RejectedExecutionException("pool is saturated"));
+                return rejected;
+            }));
+        }
+
+        running.complete("done");
+        assertTrue(calls.stream().allMatch(CompletableFuture::isCompletedExceptionally));
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(0, limiter.getQueued());
+    }
+
+    private static void assertRejected(CompletableFuture<?> future) {
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+    }
+}
@@ -0,0 +1,126 @@
+package com.zhigui.crossmesh.mesher.resource.fabric;
+
+import org.hyperledger.fabric.gateway.spi.Checkpointer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DurableCheckpointerTests {
+
+    @TempDir
+    Path dir;
+
+    private DurableCheckpointer open() throws IOException {
+        return new DurableCheckpointer(this.dir.resolve("contract.durable-checkpoint"));
+    }
+
+    /**
+     * Delivers a block the way the gateway does: the block number is set first if unset, each
+     * transaction is accepted then added, and the block number advances past the block.
+     */
+    private static void deliver(DurableCheckpointer checkpointer, long blockNumber, String txId, CompletableFuture<?> recorded) throws IOException {
+        if (checkpointer.getBlockNumber() == Checkpointer.UNSET_BLOCK_NUMBER) {
+            checkpointer.setBlockNumber(blockNumber);
+        }
+        if (recorded != null) {
+            checkpointer.track(txId, recorded);
+        }
+        checkpointer.addTransactionId(txId);
+    }
+
+    @Test
+    void holdsTheCheckpointAtTheFirstUnrecordedEvent() throws IOException {
+        DurableCheckpointer checkpointer = open();
+        assertEquals(Checkpointer.UNSET_BLOCK_NUMBER, checkpointer.getBlockNumber());
+        deliver(checkpointer, 5, "tx1", new CompletableFuture<>());
+        deliver(checkpointer, 5, "tx2", null);
+        checkpointer.setBlockNumber(6);
+        deliver(checkpointer, 6, "tx3", CompletableFuture.completedFuture(null));
+        checkpointer.setBlockNumber(7);
+        assertEquals(7, checkpointer.getBlockNumber());
+        checkpointer.close();
+
+        DurableCheckpointer reopened = open();
+        assertEquals(5, reopened.getBlockNumber());
+        assertEquals(Collections.singleton("tx2"), reopened.getTransactionIds());
+        reopened.close();
+    }
+
+    @Test
+    void advancesOnceTheEventIsRecorded() throws IOException {
+        DurableCheckpointer checkpointer = open();
+        CompletableFuture<Void> recorded = new CompletableFuture<>();
+        deliver(checkpointer, 5, "tx1", recorded);
+        checkpointer.setBlockNumber(6);
+        deliver(checkpointer, 6, "tx2", null);
+
+        recorded.complete(null);
+        checkpointer.close();
+
+        DurableCheckpointer reopened = open();
+        assertEquals(6, reopened.getBlockNumber());
+        assertEquals(Collections.singleton("tx2"), reopened.getTransactionIds());
+        reopened.close();
+    }
+
+    @Test
+    void keepsAFailedEventForReplay() throws IOException {
+        DurableCheckpointer checkpointer = open();
+        CompletableFuture<Void> recorded = new CompletableFuture<>();
+        deliver(checkpointer, 5, "tx1", recorded);
+        checkpointer.setBlockNumber(6);
+
+        recorded.completeExceptionally(new IllegalStateException("not logged"));
+        checkpointer.setBlockNumber(7);
+        checkpointer.close();
+
+        DurableCheckpointer reopened = open();
+        assertEquals(5, reopened.getBlockNumber());
+        assertEquals(Collections.emptySet(), reopened.getTransactionIds());
+        reopened.close();
+    }
+
+    @Test
+    void isOwnedByOneListenerAtATime() throws IOException {
+        DurableCheckpointer checkpointer = open();
+        assertThrows(IOException.class, this::open);
+        checkpointer.close();
+        open().close();
+    }
+
+    @Test
+    void stopsWritingOnceClosed() throws IOException {
+        DurableCheckpointer checkpointer = open();
+        CompletableFuture<Void> recorded = new CompletableFuture<>();
+        deliver(checkpointer, 5, "tx1", recorded);
+        checkpointer.close();
+
+        DurableCheckpointer next = open();
+        recorded.complete(null);
+        checkpointer.setBlockNumber(9);
+        next.close();
+
+        DurableCheckpointer reopened = open();
+        assertEquals(5, reopened.getBlockNumber());
+        reopened.close();
+    }
+
+    @Test
+    void needsAStartBlockBeforeTracking() throws IOException {
+        DurableCheckpointer checkpointer = open();
+        assertThrows(IllegalStateException.class, () -> checkpointer.track("tx1", new CompletableFuture<>()));
+        checkpointer.addTransactionId("tx1");
+        checkpointer.close();
+
+        DurableCheckpointer reopened = open();
+        assertEquals(Checkpointer.UNSET_BLOCK_NUMBER, reopened.getBlockNumber());
+        reopened.close();
+    }
+}
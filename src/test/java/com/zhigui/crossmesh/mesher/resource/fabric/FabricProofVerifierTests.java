@@ -0,0 +1,323 @@
+package com.zhigui.crossmesh.mesher.resource.fabric;
+
+import com.google.protobuf.ByteString;
+import com.zhigui.crossmesh.mesher.Config;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.hyperledger.fabric.protos.common.Configtx;
+import org.hyperledger.fabric.protos.common.MspPrincipal;
+import org.hyperledger.fabric.protos.common.Policies;
+import org.hyperledger.fabric.protos.msp.Identities;
+import org.hyperledger.fabric.protos.msp.MspConfigPackage;
+import org.hyperledger.fabric.protos.peer.Chaincode;
+import org.hyperledger.fabric.protos.peer.ProposalPackage;
+import org.hyperledger.fabric.protos.peer.ProposalResponsePackage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.cert.X509Certificate;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.zhigui.crossmesh.proto.Types.Proof;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FabricProofVerifierTests {
+
+    private static final String CHAINCODE = "cross";
+
+    private static final ByteString PAYLOAD = payload("proposal");
+
+    private static final AtomicLong SERIALS = new AtomicLong();
+
+    private static final Org ORG1 = new Org("Org1MSP");
+
+    private static final Org ORG2 = new Org("Org2MSP");
+
+    private static final Org ORG3 = new Org("Org3MSP");
+
+    private static final FabricChannelConfig CHANNEL_CONFIG = channelConfig(ORG1, ORG2, ORG3);
+
+    private FabricProofVerifier verifier;
+
+    @AfterEach
+    void tearDown() {
+        this.verifier.stop();
+    }
+
+    private FabricProofVerifier verifier() {
+        Config config = new Config();
+        config.setProofVerifyEnabled(true);
+        config.setProofVerifyThreadNum(2);
+        config.setProofCertificateCacheSize(10);
+        this.verifier = new FabricProofVerifier(config, new SimpleMeterRegistry());
+        return this.verifier;
+    }
+
+    private boolean verify(Policies.ApplicationPolicy policy, String proof) throws Exception {
+        return verifier().verify(proof, policies(CompletableFuture.completedFuture(policy))).get();
+    }
+
+    private static FabricProofVerifier.ChannelPolicies policies(CompletableFuture<Policies.ApplicationPolicy> policy) {
+        return new FabricProofVerifier.ChannelPolicies() {
+            @Override
+            public CompletableFuture<FabricChannelConfig> getChannelConfig() {
+                return CompletableFuture.completedFuture(CHANNEL_CONFIG);
+            }
+
+            @Override
+            public CompletableFuture<Policies.ApplicationPolicy> getEndorsementPolicy(String chaincode) {
+                return CHAINCODE.equals(chaincode) ? policy : new CompletableFuture<>();
+            }
+        };
+    }
+
+    private static ByteString payload(String proposalHash) {
+        return ProposalResponsePackage.ProposalResponsePayload.newBuilder()
+            .setProposalHash(ByteString.copyFromUtf8(proposalHash))
+            .setExtension(ProposalPackage.ChaincodeAction.newBuilder()
+                .setChaincodeId(Chaincode.ChaincodeID.newBuilder().setName(CHAINCODE))
+                .build()
+                .toByteString())
+            .build()
+            .toByteString();
+    }
+
+    /**
+     * Endorsements signed by {@code n} peers out of the given organizations.
+     */
+    private static Policies.ApplicationPolicy signedBy(int n, MspPrincipal.MSPRole.MSPRoleType role, Org... orgs) {
+        return Policies.ApplicationPolicy.newBuilder().setSignaturePolicy(envelope(n, role, orgs)).build();
+    }
+
+    private static Policies.SignaturePolicyEnvelope envelope(int n, MspPrincipal.MSPRole.MSPRoleType role, Org... orgs) {
+        Policies.SignaturePolicyEnvelope.Builder envelope = Policies.SignaturePolicyEnvelope.newBuilder();
+        Policies.SignaturePolicy.NOutOf.Builder rule = Policies.SignaturePolicy.NOutOf.newBuilder().setN(n);
+        for (int i = 0; i < orgs.length; i++) {
+            envelope.addIdentities(MspPrincipal.MSPPrincipal.newBuilder()
+                .setPrincipalClassification(MspPrincipal.MSPPrincipal.Classification.ROLE)
+                .setPrincipal(MspPrincipal.MSPRole.newBuilder().setMspIdentifier(orgs[i].mspId).setRole(role).build().toByteString()));
+            rule.addRules(Policies.SignaturePolicy.newBuilder().setSignedBy(i));
+        }
+        return envelope.setRule(Policies.SignaturePolicy.newBuilder().setNOutOf(rule)).build();
+    }
+
+    /**
+     * An application group with the organizations, each endorsing with its peers, and a majority of
+     * them endorsing for the channel.
+     */
+    private static FabricChannelConfig channelConfig(Org... orgs) {
+        Configtx.ConfigGroup.Builder application = Configtx.ConfigGroup.newBuilder()
+            .putPolicies("Endorsement", Configtx.ConfigPolicy.newBuilder().setPolicy(Policies.Policy.newBuilder()
+                .setType(Policies.Policy.PolicyType.IMPLICIT_META_VALUE)
+                .setValue(Policies.ImplicitMetaPolicy.newBuilder()
+                    .setSubPolicy("Endorsement")
+                    .setRule(Policies.ImplicitMetaPolicy.Rule.MAJORITY)
+                    .build()
+                    .toByteString()))
+                .build());
+        for (Org org : orgs) {
+            MspConfigPackage.FabricMSPConfig msp = MspConfigPackage.FabricMSPConfig.newBuilder()
+                .setName(org.mspId)
+                .addRootCerts(pem(org.ca))
+                .setFabricNodeOus(MspConfigPackage.FabricNodeOUs.newBuilder()
+                    .setEnable(true)
+                    .setPeerOuIdentifier(MspConfigPackage.FabricOUIdentifier.newBuilder().setOrganizationalUnitIdentifier("peer"))
+                    .setClientOuIdentifier(MspConfigPackage.FabricOUIdentifier.newBuilder().setOrganizationalUnitIdentifier("client")))
+                .build();
+            application.putGroups(org.mspId, Configtx.ConfigGroup.newBuilder()
+                .putValues("MSP", Configtx.ConfigValue.newBuilder()
+                    .setValue(MspConfigPackage.MSPConfig.newBuilder().setType(0).setConfig(msp.toByteString()).build().toByteString())
+                    .build())
+                .putPolicies("Endorsement", Configtx.ConfigPolicy.newBuilder().setPolicy(Policies.Policy.newBuilder()
+                    .setType(Policies.Policy.PolicyType.SIGNATURE_VALUE)
+                    .setValue(envelope(1, MspPrincipal.MSPRole.MSPRoleType.PEER, org).toByteString()))
+                    .build())
+                .build());
+        }
+        Configtx.Config config = Configtx.Config.newBuilder()
+            .setChannelGroup(Configtx.ConfigGroup.newBuilder().putGroups("Application", application.build()))
+            .build();
+        try {
+            return FabricChannelConfig.parse(config.toByteArray());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static KeyPair keyPair(String curve) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec(curve));
+        return generator.generateKeyPair();
+    }
+
+    private static X509Certificate certificate(X500Name issuer, PrivateKey issuerKey, X500Name subject, PublicKey publicKey, String algorithm, boolean ca) throws Exception {
+        JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(issuer, BigInteger.valueOf(SERIALS.incrementAndGet()),
+            new Date(System.currentTimeMillis() - 60000), new Date(System.currentTimeMillis() + 3600000), subject, publicKey);
+        if (ca) {
+            builder.addExtension(Extension.basicConstraints, true, new BasicConstraints(true));
+        }
+        return new JcaX509CertificateConverter().getCertificate(builder.build(new JcaContentSignerBuilder(algorithm).build(issuerKey)));
+    }
+
+    private static ByteString pem(X509Certificate certificate) {
+        try {
+            return ByteString.copyFromUtf8("-----BEGIN CERTIFICATE-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII)).encodeToString(certificate.getEncoded())
+                + "\n-----END CERTIFICATE-----\n");
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Proof.Endorsement endorsement(String mspId, X509Certificate certificate, PrivateKey key, String algorithm, ByteString payload) throws Exception {
+        ByteString endorser = Identities.SerializedIdentity.newBuilder()
+            .setMspid(mspId)
+            .setIdBytes(pem(certificate))
+            .build()
+            .toByteString();
+        Signature signature = Signature.getInstance(algorithm);
+        signature.initSign(key);
+        signature.update(payload.toByteArray());
+        signature.update(endorser.toByteArray());
+        return Proof.Endorsement.newBuilder().setEndorser(endorser).setSignature(ByteString.copyFrom(signature.sign())).build();
+    }
+
+    private static String encode(ByteString payload, Proof.Endorsement... endorsements) {
+        Proof.Builder proof = Proof.newBuilder().setVersion(1).setProposalResponsePayload(payload);
+        for (Proof.Endorsement endorsement : endorsements) {
+            proof.addEndorsements(endorsement);
+        }
+        return Base64.getEncoder().encodeToString(proof.build().toByteArray());
+    }
+
+    @Test
+    void acceptsAProofSatisfyingTheEndorsementPolicy() throws Exception {
+        Policies.ApplicationPolicy policy = signedBy(2, MspPrincipal.MSPRole.MSPRoleType.PEER, ORG1, ORG2);
+        assertTrue(verify(policy, encode(PAYLOAD, ORG1.peer(PAYLOAD), ORG2.peer(PAYLOAD))));
+        assertFalse(verify(policy, encode(PAYLOAD, ORG1.peer(PAYLOAD))));
+    }
+
+    @Test
+    void acceptsP384Endorsements() throws Exception {
+        KeyPair keyPair = keyPair("secp384r1");
+        X509Certificate certificate = certificate(ORG1.name, ORG1.caKey.getPrivate(), new X500Name("CN=peer1.org1, OU=peer"), keyPair.getPublic(), "SHA256withECDSA", false);
+        Proof.Endorsement endorsement = endorsement(ORG1.mspId, certificate, keyPair.getPrivate(), "SHA384withECDSA", PAYLOAD);
+        assertTrue(verify(signedBy(1, MspPrincipal.MSPRole.MSPRoleType.PEER, ORG1), encode(PAYLOAD, endorsement)));
+    }
+
+    @Test
+    void rejectsACertificateNotIssuedByTheClaimedMsp() throws Exception {
+        Policies.ApplicationPolicy policy = signedBy(1, MspPrincipal.MSPRole.MSPRoleType.MEMBER, ORG1);
+        KeyPair keyPair = keyPair("secp256r1");
+        X500Name name = new X500Name("CN=peer0.org1, OU=peer");
+        X509Certificate selfSigned = certificate(name, keyPair.getPrivate(), name, keyPair.getPublic(), "SHA256withECDSA", false);
+        assertFalse(verify(policy, encode(PAYLOAD, endorsement(ORG1.mspId, selfSigned, keyPair.getPrivate(), "SHA256withECDSA", PAYLOAD))));
+
+        X509Certificate ofOrg2 = certificate(ORG2.name, ORG2.caKey.getPrivate(), name, keyPair.getPublic(), "SHA256withECDSA", false);
+        assertFalse(verify(policy, encode(PAYLOAD, endorsement(ORG1.mspId, ofOrg2, keyPair.getPrivate(), "SHA256withECDSA", PAYLOAD))));
+    }
+
+    @Test
+    void requiresTheRoleOfThePolicy() throws Exception {
+        KeyPair keyPair = keyPair("secp256r1");
+        X509Certificate client = certificate(ORG1.name, ORG1.caKey.getPrivate(), new X500Name("CN=user1.org1, OU=client"), keyPair.getPublic(), "SHA256withECDSA", false);
+        String proof = encode(PAYLOAD, endorsement(ORG1.mspId, client, keyPair.getPrivate(), "SHA256withECDSA", PAYLOAD));
+        assertFalse(verify(signedBy(1, MspPrincipal.MSPRole.MSPRoleType.PEER, ORG1), proof));
+        assertTrue(verify(signedBy(1, MspPrincipal.MSPRole.MSPRoleType.MEMBER, ORG1), proof));
+    }
+
+    @Test
+    void rejectsATamperedPayload() throws Exception {
+        assertFalse(verify(signedBy(1, MspPrincipal.MSPRole.MSPRoleType.PEER, ORG1), encode(payload("tampered"), ORG1.peer(PAYLOAD))));
+    }
+
+    @Test
+    void countsEachEndorserOnce() throws Exception {
+        Policies.ApplicationPolicy twoPeersOfOrg1 = signedBy(2, MspPrincipal.MSPRole.MSPRoleType.PEER, ORG1, ORG1);
+        Proof.Endorsement endorsement = ORG1.peer(PAYLOAD);
+        assertFalse(verify(twoPeersOfOrg1, encode(PAYLOAD, endorsement, endorsement)));
+        assertTrue(verify(twoPeersOfOrg1, encode(PAYLOAD, endorsement, ORG1.peer(PAYLOAD))));
+    }
+
+    @Test
+    void evaluatesTheChannelEndorsementPolicy() throws Exception {
+        Policies.ApplicationPolicy policy = Policies.ApplicationPolicy.newBuilder()
+            .setChannelConfigPolicyReference("/Channel/Application/Endorsement")
+            .build();
+        assertTrue(verify(policy, encode(PAYLOAD, ORG1.peer(PAYLOAD), ORG3.peer(PAYLOAD))));
+        assertFalse(verify(policy, encode(PAYLOAD, ORG1.peer(PAYLOAD), ORG1.peer(PAYLOAD))));
+    }
+
+    @Test
+    void failsWhenThePolicyIsNotAvailable() throws Exception {
+        CompletableFuture<Policies.ApplicationPolicy> policy = new CompletableFuture<>();
+        policy.completeExceptionally(new TimeoutException("endorsement policy of chaincode cross not available"));
+        CompletableFuture<Boolean> valid = verifier().verify(encode(PAYLOAD, ORG1.peer(PAYLOAD)), policies(policy));
+        ExecutionException e = assertThrows(ExecutionException.class, valid::get);
+        assertTrue(e.getCause() instanceof TimeoutException);
+    }
+
+    @Test
+    void rejectsMalformedProofs() throws Exception {
+        Policies.ApplicationPolicy policy = signedBy(1, MspPrincipal.MSPRole.MSPRoleType.PEER, ORG1);
+        assertFalse(verify(policy, "not a proof"));
+        String unknownVersion = Base64.getEncoder().encodeToString(Proof.newBuilder()
+            .setVersion(2)
+            .setProposalResponsePayload(PAYLOAD)
+            .addEndorsements(ORG1.peer(PAYLOAD))
+            .build()
+            .toByteArray());
+        assertFalse(verify(policy, unknownVersion));
+    }
+
+    private static final class Org {
+        private final String mspId;
+
+        private final X500Name name;
+
+        private final KeyPair caKey;
+
+        private final X509Certificate ca;
+
+        Org(String mspId) {
+            this.mspId = mspId;
+            this.name = new X500Name("CN=ca." + mspId);
+            try {
+                this.caKey = keyPair("secp256r1");
+                this.ca = certificate(this.name, this.caKey.getPrivate(), this.name, this.caKey.getPublic(), "SHA256withECDSA", true);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        /**
+         * An endorsement of a new peer of the organization.
+         */
+        Proof.Endorsement peer(ByteString payload) throws Exception {
+            KeyPair keyPair = keyPair("secp256r1");
+            X509Certificate certificate = certificate(this.name, this.caKey.getPrivate(),
+                new X500Name("CN=peer" + SERIALS.get() + "." + this.mspId + ", OU=peer"), keyPair.getPublic(), "SHA256withECDSA", false);
+            return endorsement(this.mspId, certificate, keyPair.getPrivate(), "SHA256withECDSA", payload);
+        }
+    }
+}
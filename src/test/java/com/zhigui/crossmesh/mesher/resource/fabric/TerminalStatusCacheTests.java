@@ -0,0 +1,55 @@
+package com.zhigui.crossmesh.mesher.resource.fabric;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static com.zhigui.crossmesh.proto.Types.GlobalTransactionStatus;
+import static com.zhigui.crossmesh.proto.Types.GlobalTransactionStatusType;
+import static com.zhigui.crossmesh.proto.Types.Invocation;
+import static com.zhigui.crossmesh.proto.Types.TransactionID;
+import static com.zhigui.crossmesh.proto.Types.URI;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TerminalStatusCacheTests {
+
+    private final TerminalStatusCache cache = new TerminalStatusCache(100, new SimpleMeterRegistry(),
+        URI.newBuilder().setNetwork("network").setChain("chain").build());
+
+    private static GlobalTransactionStatus status(String xid, GlobalTransactionStatusType type) {
+        return GlobalTransactionStatus.newBuilder()
+            .setPrimaryPrepareTxId(TransactionID.newBuilder().setId(xid))
+            .setStatus(type)
+            .build();
+    }
+
+    @Test
+    void cachesTerminalStatusesByTheirOwnXid() {
+        GlobalTransactionStatus committed = status("x1", GlobalTransactionStatusType.PRIMARY_TRANSACTION_COMMITTED);
+        GlobalTransactionStatus canceled = status("x2", GlobalTransactionStatusType.PRIMARY_TRANSACTION_CANCELED);
+        this.cache.offer(committed);
+        this.cache.offer(canceled);
+
+        assertEquals(committed, this.cache.get("x1"));
+        assertEquals(canceled, this.cache.get("x2"));
+    }
+
+    @Test
+    void ignoresStatusesThatMayStillChange() {
+        this.cache.offer(status("x1", GlobalTransactionStatusType.PRIMARY_TRANSACTION_PREPARED));
+        assertNull(this.cache.get("x1"));
+    }
+
+    @Test
+    void answersASingleQueryOnceItReturnedATerminalStatus() {
+        Invocation query = Invocation.newBuilder().setContract("cross").setFunc("queryGlobalTransaction").addArgs("x1").build();
+        this.cache.offer(query, status("x1", GlobalTransactionStatusType.PRIMARY_TRANSACTION_PREPARED));
+        assertNull(this.cache.get(query));
+
+        GlobalTransactionStatus committed = status("x1", GlobalTransactionStatusType.PRIMARY_TRANSACTION_COMMITTED);
+        this.cache.offer(query, committed);
+        assertEquals(committed, this.cache.get(query));
+        // and batch queries of the xid
+        assertEquals(committed, this.cache.get("x1"));
+    }
+}